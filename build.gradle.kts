@@ -12,6 +12,7 @@ plugins {
     id("checkstyle")
     id("org.springframework.boot") version "2.7.15" // Use the appropriate version of Spring Boot plugin
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.6.8"
 }
 
 repositories {
@@ -24,17 +25,23 @@ repositories {
 dependencies {
     api("org.springframework.boot:spring-boot-starter-data-jpa")
     api("org.springframework.boot:spring-boot-starter-web")
+    api("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
     api("org.projectlombok:lombok:1.18.28")
     api("com.googlecode.json-simple:json-simple:1.1.1")
     api("com.google.guava:guava:31.1-jre")
     api("org.hibernate:hibernate-entitymanager:5.6.15.Final")
     api("org.hibernate:hibernate-core:5.6.15.Final")
+    api("org.hibernate:hibernate-jcache:5.6.15.Final")
     api("org.springframework.boot:spring-boot-starter-log4j2:2.7.14")
     api("org.apache.logging.log4j:log4j-layout-template-json:2.20.0")
     api("org.springframework.boot:spring-boot-starter-actuator")
+    api("org.springframework.boot:spring-boot-starter-aop")
     api("org.springdoc:springdoc-openapi-ui:1.6.12")
     api("org.springframework.boot:spring-boot-starter-thymeleaf")
     api("com.bucket4j:bucket4j-core:8.1.0")
+    api("com.github.ben-manes.caffeine:caffeine")
+    api("com.github.ben-manes.caffeine:jcache")
+    api("org.roaringbitmap:RoaringBitmap:0.9.49")
     runtimeOnly("org.springframework.boot:spring-boot-devtools")
     runtimeOnly("com.h2database:h2:2.1.214")
     runtimeOnly("io.micrometer:micrometer-registry-prometheus:1.11.2")
@@ -75,9 +82,58 @@ tasks.checkstyleTest {
     source = fileTree("src/test/java")
 }
 
+// Benchmarks live in src/jmh/java and are run with `gradle jmh` , or `gradle jmh -PjmhIncludes=Pagination,Json` for the
+// benchmarks matching some patterns. Results are written to build/results/jmh/results.json , see jmh-compare.sh.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(project.file("build/results/jmh/results.json"))
+    // Reports the bytes allocated per operation alongside the timings.
+    profilers.add("gc")
+    if (project.hasProperty("jmhIncludes")) {
+        includes.set(project.property("jmhIncludes").toString().split(",").map { it.trim() })
+    }
+}
+
+// The load test lives in src/loadTest/java and is run with `gradle loadTest` , see load-test.properties. It starts the
+// application jar , replays a mix of requests at fixed rates and fails if latency or throughput regress against
+// src/loadTest/baseline.json. Properties are overridden with -Pload-test.<name>=<value> , and
+// -Pload-test.update-baseline=true records the results as the new baseline.
+sourceSets {
+    create("loadTest")
+}
+
+dependencies {
+    "loadTestImplementation"("org.hdrhistogram:HdrHistogram")
+    "loadTestImplementation"("com.fasterxml.jackson.core:jackson-databind")
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Load tests the application jar , failing if it regresses against the baseline."
+    dependsOn(tasks.bootJar)
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass.set("com.south.african.data.api.loadtest.LoadTest")
+    // The seeded H2 reads its csv files relative to the project directory.
+    workingDir = projectDir
+    systemProperty("load-test.jar", tasks.bootJar.get().archiveFile.get().asFile.path)
+    systemProperty("load-test.baseline", file("src/loadTest/baseline.json").path)
+    systemProperty("load-test.report", file("build/reports/load-test").path)
+    systemProperties(project.properties.filterKeys { it.startsWith("load-test.") })
+    outputs.upToDateWhen { false }
+}
+
 // Configure bootRun task to pass system properties
 tasks {
     withType<org.springframework.boot.gradle.tasks.run.BootRun> {
         systemProperties(System.getProperties().stringPropertyNames().associateWith { System.getProperty(it) })
     }
-}
\ No newline at end of file
+}
+
+// `gradle bootRun -PvirtualThreads` serves requests on virtual threads , which needs a Java 21 toolchain.
+if (project.hasProperty("virtualThreads")) {
+    tasks.named<org.springframework.boot.gradle.tasks.run.BootRun>("bootRun") {
+        javaLauncher.set(javaToolchains.launcherFor { languageVersion.set(JavaLanguageVersion.of(21)) })
+        systemProperty("data.api.virtual-threads.enabled", "true")
+    }
+}
@@ -0,0 +1,52 @@
+#!/bin/bash
+# Compares the end to end wall time of pulling a whole resource by paging through it against a single export.
+# usage: ./export-benchmark.sh [resource] [base url] , i.e ./export-benchmark.sh schools http://localhost:8080
+# Requires curl and jq.
+
+RESOURCE=${1:-schools}
+BASE_URL=${2:-http://localhost:8080}
+PAGE_SIZE=1000
+OUT=$(mktemp -d)
+trap 'rm -rf "$OUT"' EXIT
+
+now() {
+  date +%s%N
+}
+
+paging() {
+  local token=""
+  local pages=0
+  local records=0
+  while : ; do
+    local url="$BASE_URL/$RESOURCE?maxResults=$PAGE_SIZE"
+    if [ -n "$token" ]; then
+      url="$url&nextToken=$token"
+    fi
+    curl -sf --compressed "$url" -o "$OUT/page.json" || { echo "request failed : $url" >&2; exit 1; }
+    pages=$((pages + 1))
+    records=$((records + $(jq '.data | length' "$OUT/page.json")))
+    token=$(jq -r '.nextToken // empty | @uri' "$OUT/page.json")
+    if [ -z "$token" ]; then
+      break
+    fi
+  done
+  echo "$pages pages , $records records"
+}
+
+export_as() {
+  curl -sf --compressed -H "Accept: $1" "$BASE_URL/$RESOURCE/export" -o "$OUT/export" \
+    -w "%{size_download} bytes transferred , " || { echo "export failed" >&2; exit 1; }
+  echo "$(wc -l < "$OUT/export") lines"
+}
+
+start=$(now)
+result=$(paging)
+echo "paging (maxResults=$PAGE_SIZE) : $(( ($(now) - start) / 1000000 )) ms , $result"
+
+start=$(now)
+result=$(export_as application/x-ndjson)
+echo "export (ndjson)              : $(( ($(now) - start) / 1000000 )) ms , $result"
+
+start=$(now)
+result=$(export_as text/csv)
+echo "export (csv)                 : $(( ($(now) - start) / 1000000 )) ms , $result"
@@ -0,0 +1,39 @@
+#!/bin/bash
+# Compares the scores of two JMH result files , i.e the build/results/jmh/results.json of gradle jmh on two commits.
+# usage: ./jmh-compare.sh <baseline results.json> <results.json> [threshold %]
+# Prints the baseline and current score of every benchmark and parameter combination , and the change in percent.
+# Changes for the worse beyond the threshold (10% by default) are flagged , and make the script exit with 1.
+# Requires jq.
+
+BASELINE=$1
+CURRENT=$2
+THRESHOLD=${3:-10}
+
+if [ ! -f "$BASELINE" ] || [ ! -f "$CURRENT" ]; then
+  echo "usage: $0 <baseline results.json> <results.json> [threshold %]" >&2
+  exit 2
+fi
+
+# One line per benchmark of the current results : name and parameters , mode , baseline score , score and unit.
+jq -r --slurpfile baseline "$BASELINE" '
+    def params: (.params // {}) | to_entries | map("\(.key)=\(.value)") | join(",");
+    def key: .benchmark + " " + params;
+    (($baseline[0] | map({(key): .primaryMetric.score}) | add) // {}) as $before
+    | .[]
+    | [.benchmark, params, .mode, ($before[key] // "-"), .primaryMetric.score, .primaryMetric.scoreUnit]
+    | @tsv' "$CURRENT" \
+  | awk -F '\t' -v threshold="$THRESHOLD" '
+    {
+      name = $1 ; params = $2 ; mode = $3 ; before = $4 ; after = $5 ; unit = $6
+      if (before == "-") {
+        printf "%-75s %-30s %12s %12.3f %-10s new\n", name, params, "-", after, unit
+        next
+      }
+      change = before == 0 ? 0 : (after - before) * 100 / before
+      # Higher is better for throughput , lower is better for the other modes.
+      worse = mode == "thrpt" ? -change : change
+      flag = ""
+      if (worse > threshold) { flag = "REGRESSION" ; regressions++ }
+      printf "%-75s %-30s %12.3f %12.3f %-10s %+7.1f%% %s\n", name, params, before, after, unit, change, flag
+    }
+    END { exit regressions > 0 ? 1 : 0 }'
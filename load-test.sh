@@ -0,0 +1,62 @@
+#!/bin/bash
+# Compares throughput and tail latency of serving requests on Tomcat's thread pool against virtual threads.
+# Starts the application jar once per execution mode , drives lookups by id and list queries with wrk at the given
+# number of connections , and prints requests per second and p99 latency of each.
+# usage: ./load-test.sh [connections] [duration] , i.e ./load-test.sh 1000 30s
+# Requires wrk and curl , and JAVA_HOME pointing at Java 21 or later for the virtual threads mode.
+# Throttling and the concurrency limits are disabled , so the execution modes rather than the limits are compared.
+# Extra application arguments can be passed in APP_ARGS , i.e APP_ARGS=--data.api.snapshot.enabled=true.
+
+CONNECTIONS=${1:-1000}
+DURATION=${2:-30s}
+THREADS=${THREADS:-8}
+PORT=${PORT:-8081}
+BASE_URL="http://localhost:$PORT"
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+OUT=$(mktemp -d)
+trap 'kill $APP 2>/dev/null; rm -rf "$OUT"' EXIT
+
+gradle bootJar -q || exit 1
+JAR=$(ls build/libs/*.jar | grep -v plain | head -1)
+
+start_app() {
+  "$JAVA" -jar "$JAR" --server.port="$PORT" --data.api.virtual-threads.enabled="$1" \
+    --data.api.throttling.enabled=false --data.api.concurrency.enabled=false $APP_ARGS > "$OUT/app.log" 2>&1 &
+  APP=$!
+  for _ in $(seq 120); do
+    curl -sf "$BASE_URL/actuator/health" > /dev/null && return 0
+    sleep 1
+  done
+  echo "application did not start , see its log :" >&2
+  tail -20 "$OUT/app.log" >&2
+  exit 1
+}
+
+stop_app() {
+  kill $APP
+  wait $APP 2>/dev/null
+}
+
+run() {
+  # Warm up first , so the measured run is not dominated by class loading and the JIT.
+  wrk -t"$THREADS" -c"$CONNECTIONS" -d10s "$2" > /dev/null
+  wrk -t"$THREADS" -c"$CONNECTIONS" -d"$DURATION" --latency "$2" > "$OUT/wrk"
+  local rps p99 errors
+  rps=$(awk '/^Requests\/sec/ {print $2}' "$OUT/wrk")
+  p99=$(awk '$1 == "99%" {print $2}' "$OUT/wrk")
+  errors=$(awk '/Non-2xx|Socket errors/ {printf "%s ", $0}' "$OUT/wrk")
+  printf "%-16s %-8s %12s req/s   p99 %10s   %s\n" "$1" "$3" "$rps" "$p99" "$errors"
+}
+
+for virtual in false true; do
+  mode=$([ "$virtual" = true ] && echo virtual || echo platform)
+  start_app "$virtual"
+  if [ "$virtual" = true ] && ! grep -q "Serving requests on virtual threads" "$OUT/app.log"; then
+    echo "virtual threads are not available on $("$JAVA" -version 2>&1 | head -1) , skipping" >&2
+    stop_app
+    continue
+  fi
+  run "$mode" "$BASE_URL/schools/918510576" lookup
+  run "$mode" "$BASE_URL/schools?maxResults=100" list
+  stop_app
+done
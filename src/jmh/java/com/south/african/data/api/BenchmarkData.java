@@ -0,0 +1,47 @@
+package com.south.african.data.api;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.south.african.data.api.entity.Hospital;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The datasets the benchmarks run against , read from the seed files of the datastore.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() { }
+
+    /**
+     * Reads the hospitals from hospitals.csv , numbered from 1 in file order as the datastore numbers them.
+     * @return The hospitals.
+     */
+    public static List<Hospital> hospitals() {
+        final List<Hospital> hospitals = new ArrayList<>();
+        try (InputStream csv = BenchmarkData.class.getResourceAsStream("/hospitals.csv");
+             MappingIterator<Map<String, String>> rows = new CsvMapper()
+                     .readerForMapOf(String.class)
+                     .with(CsvSchema.emptySchema().withHeader())
+                     .readValues(csv)) {
+            while (rows.hasNext()) {
+                final Map<String, String> row = rows.next();
+                hospitals.add(new Hospital(
+                        (long) hospitals.size() + 1,
+                        row.get("Name"),
+                        row.get("Category"),
+                        row.get("Province"),
+                        row.get("District_Municipality")));
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hospitals;
+    }
+}
@@ -0,0 +1,102 @@
+package com.south.african.data.api.interceptor;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.south.african.data.api.util.metrics.Metrics;
+import com.south.african.data.api.util.request.Request;
+import org.apache.logging.log4j.ThreadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per request overhead of the bookkeeping {@link LoggingInterceptor} does around every request : creating the
+ * request and its id , adding the counts a list query adds , and putting the metrics JSON in the thread context. The
+ * legacy benchmark reproduces what it used to do , a new Random per id , two HashMaps of boxed metrics and Jackson
+ * serialization. The gc profiler reports the bytes allocated per request as gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:missingjavadoctype"})
+public class RequestBookkeepingBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Benchmark
+    public String request() {
+        final Request req = new Request();
+        ThreadContext.put("requestId", req.getId());
+        req.getMetrics().addCount("estimatedCost", 1);
+        req.getMetrics().addCount(Metrics.RECORDS, 100);
+        req.getMetrics().addCount("actualCost", 1);
+        req.getMetrics().setLatencyMillis(req.elapsedMillis());
+        final String metrics = req.getMetrics().toJson();
+        ThreadContext.put("metrics", metrics);
+        ThreadContext.remove("metrics");
+        ThreadContext.remove("requestId");
+        return metrics;
+    }
+
+    @Benchmark
+    public void legacyRequest(final Blackhole blackhole) throws JsonProcessingException {
+        final long startTimeMillis = System.currentTimeMillis();
+        final String id = legacyId().toString();
+        final LegacyMetrics legacyMetrics = new LegacyMetrics();
+        ThreadContext.put("requestId", id);
+        blackhole.consume("Starting processing request : " + id);
+        legacyMetrics.addCount("estimatedCost", 1);
+        legacyMetrics.addCount(Metrics.RECORDS, 100);
+        legacyMetrics.addCount("actualCost", 1);
+        legacyMetrics.latencyMillis = System.currentTimeMillis() - startTimeMillis;
+        final String metrics = MAPPER.writeValueAsString(legacyMetrics);
+        ThreadContext.put("metrics", metrics);
+        blackhole.consume("Finished processing request : " + id);
+    }
+
+    private static UUID legacyId() {
+        final long currentTimeMillis = System.currentTimeMillis();
+        final long most = ((currentTimeMillis & 0x0000_0000_FFFF_FFFFL) << 32)
+                | (((currentTimeMillis >> 32) & 0xFFFF) << 16)
+                | (1 << 12)
+                | ((currentTimeMillis >> 48) & 0x0FFF);
+        final long least = (new Random().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(most, least);
+    }
+
+    public static final class LegacyMetrics {
+
+        @JsonProperty
+        private final Map<String, Integer> count = new HashMap<>();
+
+        @JsonProperty
+        private final Map<String, Double> value = new HashMap<>();
+
+        @JsonProperty
+        private Long latencyMillis;
+
+        void addCount(final String metricName, final int metricCount) {
+            count.compute(metricName, (k, v) -> (v == null) ? metricCount : v + metricCount);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.south.african.data.api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.Application;
+import com.south.african.data.api.entity.Hospital;
+import com.south.african.data.api.repository.model.Page;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link BaseRepository#getPage} for pages of 100 hospitals , against an embedded H2 seeded from
+ * hospitals.csv , read through Hibernate or from the snapshot. The first page and a page in the middle of the
+ * hospitals are read , unfiltered and filtered on province and category. Pages read through Hibernate are answered
+ * from the query cache once warm , as repeated pages are when serving.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class BaseRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final Long CURSOR = 450L;
+    private static final String CURSOR_COLUMN = "hospitalId";
+
+    @Param({"false", "true"})
+    public boolean snapshot;
+
+    @Param({"false", "true"})
+    public boolean filtered;
+
+    private ConfigurableApplicationContext context;
+
+    private BaseRepository repository;
+
+    private Map<String, ImmutableSet<String>> filters;
+
+    private final Set<String> fields = ImmutableSet.of();
+
+    @Setup
+    public void setup() {
+        // Restarting the context on classpath changes only makes sense when running the application.
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:jmh",
+                        "spring.sql.init.data-locations=classpath:jmh-data.sql",
+                        "logging.config=classpath:log4j2-console.xml",
+                        "data.api.snapshot.enabled=" + snapshot)
+                .run();
+        repository = context.getBean(BaseRepository.class);
+        filters = filtered
+                ? ImmutableMap.of(
+                        "province", ImmutableSet.of("Gauteng", "KwaZuluNatal"),
+                        "category", ImmutableSet.of("District Hospital"))
+                : ImmutableMap.of();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<Hospital> firstPage() throws JsonProcessingException {
+        return getPage(null);
+    }
+
+    @Benchmark
+    public Page<Hospital> nextPage() throws JsonProcessingException {
+        return getPage(CURSOR);
+    }
+
+    private Page<Hospital> getPage(final Long cursor) throws JsonProcessingException {
+        return repository.getPage(
+                Hospital.class,
+                Hospital.class.getSimpleName(),
+                cursor,
+                CURSOR_COLUMN,
+                PAGE_SIZE,
+                Hospital::getHospitalId,
+                filters,
+                fields);
+    }
+}
@@ -0,0 +1,100 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of a province + phase + sector query against a snapshot of synthetic schools , for the first page and for
+ * the full result , and of a lookup by school id , as the number of rows grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class SnapshotBenchmark {
+
+    private static final String[] PROVINCES = {
+        "Gauteng", "Western Cape", "Eastern Cape", "KwaZulu-Natal", "Limpopo",
+        "Mpumalanga", "North West", "Free State", "Northern Cape"};
+    private static final String[] PHASES = {"Primary School", "Secondary School", "Combined School", "Pre-Primary"};
+    private static final String[] SECTORS = {"Public", "Independent"};
+
+    @Param({"25000", "250000"})
+    public int rows;
+
+    private Snapshot<School> snapshot;
+
+    private List<FilterPredicate> predicates;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        final List<School> schools = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            schools.add(new School(
+                    (long) i,
+                    100_000_000L + i,
+                    "School " + i,
+                    "Open",
+                    SECTORS[random.nextInt(SECTORS.length)],
+                    "Ordinary School",
+                    PHASES[random.nextInt(PHASES.length)],
+                    "Ordinary School",
+                    String.valueOf(random.nextInt(1_000_000)),
+                    PROVINCES[random.nextInt(PROVINCES.length)],
+                    "District " + random.nextInt(52),
+                    "Municipality " + random.nextInt(205),
+                    random.nextBoolean() ? null : random.nextInt(10_000)));
+        }
+        snapshot = Snapshot.of(School.class, schools);
+        predicates = FilterPredicate.compile(School.class, ImmutableMap.of(
+                "province", ImmutableSet.of("Gauteng", "Limpopo"),
+                "phase", ImmutableSet.of("Secondary School"),
+                "sector", ImmutableSet.of("Public")));
+    }
+
+    @Benchmark
+    public ArrayList<School> firstPage() {
+        return snapshot.getAfter("id", null, 100, predicates);
+    }
+
+    @Benchmark
+    public ArrayList<School> lastPage() {
+        return snapshot.getAfter("id", (long) rows - 1_000, 100, predicates);
+    }
+
+    @Benchmark
+    public ArrayList<School> all() {
+        return snapshot.getAll(predicates);
+    }
+
+    @Benchmark
+    public Optional<School> bySchoolId() {
+        return snapshot.getById("schoolId", 100_000_000L + rows / 2);
+    }
+}
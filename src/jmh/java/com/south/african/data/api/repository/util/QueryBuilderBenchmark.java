@@ -0,0 +1,79 @@
+package com.south.african.data.api.repository.util;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.Hospital;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of generating the statement of a page of hospitals , as the repository does before every page query i.e
+ * compiling the filters into predicates , building the statement and projecting it onto the requested fields. Built
+ * statements are cached by shape , so this is the cost of a request whose shape was already seen.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class QueryBuilderBenchmark {
+
+    private static final String ENTITY = "Hospital";
+    private static final String ID_COLUMN = "hospitalId";
+
+    private static final Map<String, Map<String, ImmutableSet<String>>> FILTERS = ImmutableMap.of(
+            "none", ImmutableMap.of(),
+            "province", ImmutableMap.of("province", ImmutableSet.of("Gauteng")),
+            "province,category", ImmutableMap.of(
+                    "province", ImmutableSet.of("Gauteng", "KwaZuluNatal"),
+                    "category", ImmutableSet.of("District Hospital")));
+
+    @Param({"none", "province", "province,category"})
+    public String filterKeys;
+
+    private Map<String, ImmutableSet<String>> filters;
+
+    private final List<String> fields = ImmutableList.of("hospitalId", "name", "province");
+
+    @Setup
+    public void setup() {
+        filters = FILTERS.get(filterKeys);
+    }
+
+    @Benchmark
+    public String firstPage() {
+        return QueryBuilder.getAllWithFiltersSortedById(ENTITY, ID_COLUMN, FilterPredicate.compile(Hospital.class, filters));
+    }
+
+    @Benchmark
+    public String nextPage() {
+        return QueryBuilder.getAllAfterIdWithFiltersSortedById(
+                ENTITY, ID_COLUMN, FilterPredicate.compile(Hospital.class, filters));
+    }
+
+    @Benchmark
+    public String projectedNextPage() {
+        return QueryBuilder.project(QueryBuilder.getAllAfterIdWithFiltersSortedById(
+                ENTITY, ID_COLUMN, FilterPredicate.compile(Hospital.class, filters)), fields);
+    }
+}
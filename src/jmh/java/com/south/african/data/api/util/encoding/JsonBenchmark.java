@@ -0,0 +1,59 @@
+package com.south.african.data.api.util.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.south.african.data.api.BenchmarkData;
+import com.south.african.data.api.entity.Hospital;
+import org.json.simple.JSONObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link Json#marshal(Object)} for a single hospital and of {@link Json#marshal(java.util.Collection)} for a
+ * page of 100 hospitals.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class JsonBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private Hospital hospital;
+
+    private List<Hospital> page;
+
+    @Setup
+    public void setup() {
+        final List<Hospital> hospitals = BenchmarkData.hospitals();
+        hospital = hospitals.get(0);
+        page = hospitals.subList(0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public JSONObject marshal() throws JsonProcessingException {
+        return Json.marshal(hospital);
+    }
+
+    @Benchmark
+    public List<JSONObject> marshalPage() {
+        return Json.marshal(page);
+    }
+}
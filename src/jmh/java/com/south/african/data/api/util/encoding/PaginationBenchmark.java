@@ -0,0 +1,67 @@
+package com.south.african.data.api.util.encoding;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.query.QueryException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of creating the next token of a page and of decoding it on the following request , for unfiltered pages and
+ * for pages whose token carries the fingerprint of their filters.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class PaginationBenchmark {
+
+    private static final String RESOURCE = "Hospital";
+    private static final String CURSOR = "450";
+
+    @Param({"false", "true"})
+    public boolean filtered;
+
+    private Map<String, ImmutableSet<String>> filters;
+
+    private String token;
+
+    @Setup
+    public void setup() throws JsonProcessingException {
+        filters = filtered
+                ? ImmutableMap.of(
+                        "province", ImmutableSet.of("Gauteng", "KwaZuluNatal"),
+                        "category", ImmutableSet.of("District Hospital"))
+                : ImmutableMap.of();
+        token = Pagination.createToken(CURSOR, RESOURCE, filters);
+    }
+
+    @Benchmark
+    public String createToken() throws JsonProcessingException {
+        return Pagination.createToken(CURSOR, RESOURCE, filters);
+    }
+
+    @Benchmark
+    public String decodeToken() throws QueryException {
+        return Pagination.decodeToken(token, RESOURCE, filters);
+    }
+}
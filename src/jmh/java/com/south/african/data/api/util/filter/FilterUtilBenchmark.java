@@ -0,0 +1,125 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.School;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Rows per second when filtering schools with 4 active filters , using the reflective evaluation that
+ * {@link FilterUtil#applyFilters(Map, Object)} used to do for every row and the compiled {@link FilterPlan}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class FilterUtilBenchmark {
+
+    private static final int ROWS = 25_000;
+    private static final String[] PROVINCES = {
+        "Gauteng", "Western Cape", "Eastern Cape", "KwaZulu-Natal", "Limpopo",
+        "Mpumalanga", "North West", "Free State", "Northern Cape"};
+    private static final String[] PHASES = {"Primary School", "Secondary School", "Combined School", "Pre-Primary"};
+    private static final String[] SECTORS = {"Public", "Independent"};
+    private static final String[] STATUSES = {"Open", "Closed", "Operational"};
+
+    private final Map<String, ImmutableSet<String>> filters = ImmutableMap.of(
+            "province", ImmutableSet.of("Gauteng", "Limpopo"),
+            "phase", ImmutableSet.of("Secondary School"),
+            "sector", ImmutableSet.of("Public"),
+            "status", ImmutableSet.of("Open", "Operational"));
+
+    private School[] schools;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        schools = new School[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            schools[i] = new School(
+                    (long) i,
+                    100_000_000L + i,
+                    "School " + i,
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    SECTORS[random.nextInt(SECTORS.length)],
+                    "Ordinary School",
+                    PHASES[random.nextInt(PHASES.length)],
+                    "Ordinary School",
+                    String.valueOf(random.nextInt(1_000_000)),
+                    PROVINCES[random.nextInt(PROVINCES.length)],
+                    "District " + random.nextInt(52),
+                    "Municipality " + random.nextInt(205),
+                    random.nextBoolean() ? null : random.nextInt(10_000));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void reflective(final Blackhole blackhole) throws IllegalAccessException {
+        for (final School school : schools) {
+            blackhole.consume(reflectiveApplyFilters(filters, school));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void compiled(final Blackhole blackhole) {
+        final FilterPlan.Evaluator evaluator = FilterPlan.of(School.class).compile(filters);
+        for (final School school : schools) {
+            blackhole.consume(evaluator.test(school));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ArrayList<School> applyFiltersOnList() {
+        final ArrayList<School> data = new ArrayList<>(ROWS);
+        for (final School school : schools) {
+            data.add(school);
+        }
+        FilterUtil.applyFilters(filters, data);
+        return data;
+    }
+
+    /**
+     * The reflective evaluation that was used before filter plans , kept as the baseline.
+     * @param filters The filters.
+     * @param thing   The row.
+     * @return Whether the row matches the filters.
+     */
+    private static boolean reflectiveApplyFilters(final Map<String, ImmutableSet<String>> filters, final Object thing)
+            throws IllegalAccessException {
+        for (final Field field : thing.getClass().getDeclaredFields()) {
+            field.setAccessible(true);
+            if (field.isAnnotationPresent(Filter.class)) {
+                final String value = field.get(thing) == null ? "null" : field.get(thing).toString();
+                final String filterName = field.getAnnotation(Filter.class).name();
+                final String filterKey = !filterName.equals(Filter.DEFAULT_FILTER_NAME) ? filterName : field.getName();
+                if (!FilterUtil.filterMatches(filters, filterKey, value)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.BenchmarkData;
+import com.south.african.data.api.entity.Hospital;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@link FilterUtil#applyFilters(Map, ArrayList)} over the real hospitals of hospitals.csv , with a single
+ * province filter and with a province and a category filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class HospitalFilterBenchmark {
+
+    private static final Map<String, Map<String, ImmutableSet<String>>> FILTERS = ImmutableMap.of(
+            "province", ImmutableMap.of("province", ImmutableSet.of("Gauteng")),
+            "province,category", ImmutableMap.of(
+                    "province", ImmutableSet.of("Gauteng", "KwaZuluNatal"),
+                    "category", ImmutableSet.of("District Hospital")));
+
+    @Param({"province", "province,category"})
+    public String filterKeys;
+
+    private List<Hospital> hospitals;
+
+    private Map<String, ImmutableSet<String>> filters;
+
+    @Setup
+    public void setup() {
+        hospitals = BenchmarkData.hospitals();
+        filters = FILTERS.get(filterKeys);
+    }
+
+    @Benchmark
+    public ArrayList<Hospital> applyFilters() {
+        final ArrayList<Hospital> data = new ArrayList<>(hospitals);
+        FilterUtil.applyFilters(filters, data);
+        return data;
+    }
+}
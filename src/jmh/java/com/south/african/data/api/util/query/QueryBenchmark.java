@@ -0,0 +1,68 @@
+package com.south.african.data.api.util.query;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of validating the query parameters of a list request and extracting its filters , which every request goes
+ * through before reaching a controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:visibilitymodifier"})
+public class QueryBenchmark {
+
+    private static final String[][] FILTERS = {
+        {"province", "Gauteng", "Limpopo"},
+        {"phase", "Secondary School"},
+        {"sector", "Public"},
+        {"status", "Open", "Operational"}};
+
+    @Param({"0", "2", "4"})
+    public int filterCount;
+
+    private Map<String, String[]> parameters;
+
+    @Setup
+    public void setup() {
+        final Map<String, String[]> query = new LinkedHashMap<>();
+        query.put("maxResults", new String[]{"100"});
+        query.put("fields", new String[]{"natEmis,name,province"});
+        for (int i = 0; i < filterCount; i++) {
+            final String key = "filter-key-" + (i + 1);
+            query.put(key, new String[]{FILTERS[i][0]});
+            final String[] values = new String[FILTERS[i].length - 1];
+            System.arraycopy(FILTERS[i], 1, values, 0, values.length);
+            query.put(key + "-value", values);
+        }
+        parameters = ImmutableMap.copyOf(query);
+    }
+
+    @Benchmark
+    public Map<String, ImmutableSet<String>> validateAndExtractFilters() throws QueryException {
+        Query.validateParameters(parameters);
+        return Query.extractFilters(parameters);
+    }
+}
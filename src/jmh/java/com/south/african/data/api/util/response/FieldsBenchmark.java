@@ -0,0 +1,130 @@
+package com.south.african.data.api.util.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.repository.util.Projection;
+import com.south.african.data.api.util.query.QueryException;
+import com.south.african.data.api.util.query.parameter.Fields;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and size of a page of schools serialized with all their fields and with a sparse fieldset , and the cost of
+ * materializing the rows of a projected page into schools. The bytes and responses counters are summed over the
+ * iterations , bytes / responses is the size of a response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings({
+        "checkstyle:javadocvariable",
+        "checkstyle:missingjavadocmethod",
+        "checkstyle:missingjavadoctype",
+        "checkstyle:visibilitymodifier"})
+public class FieldsBenchmark {
+
+    @Param({"", "schoolId,name,province"})
+    public String fields;
+
+    @Param({"100", "1000"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+
+    private Response<List<School>> page;
+
+    private Projection<School> projection;
+
+    private List<Object[]> rows;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Size {
+
+        public long bytes;
+
+        public long responses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            responses = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws QueryException {
+        final Map<String, String[]> parameters = fields.isEmpty()
+                ? ImmutableMap.of()
+                : ImmutableMap.of(Fields.KEY, new String[]{fields});
+        final Fields chosen = new Fields(parameters);
+        writer = new ObjectMapper().setFilterProvider(Fields.ALL).writer(chosen.filters());
+
+        final List<School> schools = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            schools.add(new School(
+                    (long) i,
+                    100_000_000L + i,
+                    "School " + i,
+                    "Open",
+                    "Public",
+                    "Ordinary School",
+                    "Secondary School",
+                    "Ordinary School",
+                    String.valueOf(i),
+                    "Gauteng",
+                    "District " + i % 52,
+                    "Municipality " + i % 205,
+                    i % 10_000));
+        }
+        page = new Response<>("request", schools, null);
+
+        projection = Projection.of(School.class, chosen.value(), "id");
+        rows = new ArrayList<>(pageSize);
+        for (final School school : schools) {
+            rows.add(new Object[]{school.getId(), school.getSchoolId(), school.getName(), school.getProvince()});
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize(final Size size) throws JsonProcessingException {
+        final byte[] body = writer.writeValueAsBytes(page);
+        size.bytes += body.length;
+        size.responses++;
+        return body;
+    }
+
+    @Benchmark
+    public List<School> materialize() {
+        if (projection == null) {
+            return page.getData();
+        }
+        final List<School> schools = new ArrayList<>(rows.size());
+        for (final Object[] row : rows) {
+            schools.add(projection.instance(row));
+        }
+        return schools;
+    }
+}
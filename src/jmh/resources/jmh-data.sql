@@ -0,0 +1,5 @@
+-- Seeds the datastore of the repository benchmarks , hospitals only since schools.csv is not checked in.
+CREATE INDEX HOSPITAL_ID ON HOSPITAL(HOSPITAL_ID);
+
+INSERT INTO HOSPITAL(NAME, CATEGORY, PROVINCE, DISTRICT_MUNICIPALITY)
+    (SELECT * FROM CSVREAD('classpath:hospitals.csv'));
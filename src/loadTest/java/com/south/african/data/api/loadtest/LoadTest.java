@@ -0,0 +1,297 @@
+package com.south.african.data.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a mix of lookups , filtered lists , pagination walks and unpaginated lists against the application at fixed
+ * rates , records the latency of each scenario in a HDR histogram , and checks the results against a baseline.
+ * Run with gradle loadTest , which starts the application jar with the seeded H2 , see load-test.properties.
+ * Writes results.json and the latency distribution of each scenario to the report directory , and exits with 1 if a
+ * scenario violates the thresholds , see {@link SloGate} , or if there is no baseline to check against. With
+ * load-test.update-baseline the results replace the baseline instead.
+ */
+public final class LoadTest {
+
+    /**
+     * The attribute holding the id of each resource , for reading the records to look up.
+     */
+    private static final Map<String, String> ID_FIELDS = Map.of(
+            "schools", "schoolId",
+            "hospitals", "hospitalId");
+
+    /**
+     * The page size the records of a resource are read with.
+     */
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * The time the application has to start.
+     */
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    /**
+     * The time the requests in flight have to complete once the measured duration is over.
+     */
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LoadTest() { }
+
+    /**
+     * Runs the load test.
+     * @param args Unused , the load test is configured by load-test.properties and load-test.* system properties.
+     * @throws Exception if the application cannot be started or the results cannot be written.
+     */
+    public static void main(final String[] args) throws Exception {
+        final LoadTestConfig config = LoadTestConfig.load();
+        final Path reports = Paths.get(System.getProperty("load-test.report", "build/reports/load-test"));
+        final Path baselineFile = Paths.get(System.getProperty("load-test.baseline", "src/loadTest/baseline.json"));
+        Files.createDirectories(reports);
+
+        final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Process server = null;
+        boolean failed = false;
+        String baseUrl = config.baseUrl();
+        try {
+            if (baseUrl.isEmpty()) {
+                baseUrl = "http://localhost:" + config.port();
+                server = start(config, reports.resolve("server.log"));
+                awaitHealthy(client, baseUrl, server);
+            }
+            final JsonNode results = run(client, baseUrl, config, reports);
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(reports.resolve("results.json").toFile(), results);
+
+            if (Boolean.getBoolean("load-test.update-baseline")) {
+                Files.createDirectories(baselineFile.toAbsolutePath().getParent());
+                Files.copy(reports.resolve("results.json"), baselineFile, StandardCopyOption.REPLACE_EXISTING);
+                System.out.println("Baseline updated : " + baselineFile);
+                return;
+            }
+
+            final JsonNode baseline = Files.exists(baselineFile) ? MAPPER.readTree(baselineFile.toFile()) : null;
+            final List<String> violations = SloGate.violations(results, baseline, config);
+            if (baseline == null) {
+                // Without a baseline only the error rate is checked , which must not pass for a green load test.
+                violations.add("No baseline at " + baselineFile + " , the latency and throughput gates did not run. "
+                        + "Record one with gradle loadTest -Pload-test.update-baseline=true");
+            }
+            if (!violations.isEmpty()) {
+                System.err.println("Load test failed :");
+                violations.forEach(violation -> System.err.println("  " + violation));
+                failed = true;
+            }
+        } finally {
+            if (server != null) {
+                server.destroy();
+                server.waitFor(30, TimeUnit.SECONDS);
+            }
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs every scenario concurrently , for the warm up then for the measured duration.
+     * @param client  The client to send requests with.
+     * @param baseUrl The base url of the server.
+     * @param config  The configuration.
+     * @param reports The directory the latency distributions are written to.
+     * @return The results , with the throughput , error rate and latency percentiles in milliseconds of each scenario.
+     * @throws IOException if the ids cannot be discovered or a distribution cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the scenarios.
+     */
+    private static JsonNode run(
+            final HttpClient client,
+            final String baseUrl,
+            final LoadTestConfig config,
+            final Path reports) throws IOException, InterruptedException {
+
+        final List<Scenario> scenarios = config.scenarios();
+        final Map<String, Set<String>> attributes = new HashMap<>();
+        for (final Scenario scenario : scenarios) {
+            if (scenario.needsRecords()) {
+                attributes.computeIfAbsent(scenario.resource(), resource -> new TreeSet<>()).addAll(scenario.filters());
+            }
+        }
+        final Map<String, List<JsonNode>> records = new HashMap<>();
+        for (final Map.Entry<String, Set<String>> resource : attributes.entrySet()) {
+            records.put(resource.getKey(), readRecords(client, baseUrl, resource.getKey(), resource.getValue()));
+        }
+
+        final long start = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        final long measured = start + config.warmup().toNanos();
+        final long end = measured + config.duration().toNanos();
+        final List<Thread> threads = new ArrayList<>();
+        for (final Scenario scenario : scenarios) {
+            final Thread thread = new Thread(
+                    () -> scenario.run(client, baseUrl, records.get(scenario.resource()), ID_FIELDS.get(scenario.resource()),
+                            start, end),
+                    "load-test-" + scenario.name());
+            thread.start();
+            threads.add(thread);
+        }
+
+        TimeUnit.NANOSECONDS.sleep(measured - System.nanoTime());
+        scenarios.forEach(Scenario::reset);
+        System.out.println("Warm up done , measuring for " + config.duration().getSeconds() + "s");
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT.toNanos();
+        while (scenarios.stream().anyMatch(scenario -> scenario.inFlight() > 0) && System.nanoTime() < drainDeadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+
+        final ObjectNode results = MAPPER.createObjectNode();
+        results.put("warmupSeconds", config.warmup().getSeconds());
+        results.put("durationSeconds", config.duration().getSeconds());
+        final ObjectNode scenarioResults = results.putObject("scenarios");
+        final double seconds = config.duration().toMillis() / 1000.0;
+        for (final Scenario scenario : scenarios) {
+            final Histogram histogram = scenario.histogram();
+            final long requests = scenario.requests();
+            final long errors = scenario.errors();
+            final ObjectNode result = scenarioResults.putObject(scenario.name());
+            result.put("requests", requests);
+            result.put("errorRate", requests == 0 ? 0 : errors * 100.0 / requests);
+            result.put("throughput", (requests - errors) / seconds);
+            result.put("p50", millis(histogram.getValueAtPercentile(50)));
+            result.put("p90", millis(histogram.getValueAtPercentile(90)));
+            result.put("p99", millis(histogram.getValueAtPercentile(99)));
+            result.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            result.put("max", millis(histogram.getMaxValue()));
+
+            try (PrintStream distribution = new PrintStream(reports.resolve(scenario.name() + ".hgrm").toFile())) {
+                histogram.outputPercentileDistribution(distribution, 1000.0);
+            }
+            System.out.printf("%-20s %8d requests %8.1f/s %6.2f%% errors   p50 %8.2fms   p99 %8.2fms   max %8.2fms%n",
+                    scenario.name(), requests, result.get("throughput").asDouble(), result.get("errorRate").asDouble(),
+                    result.get("p50").asDouble(), result.get("p99").asDouble(), result.get("max").asDouble());
+        }
+        return results;
+    }
+
+    private static double millis(final long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Starts the application jar with the seeded H2 , on the configured port.
+     * @param config The configuration.
+     * @param log    The file the application output is written to.
+     * @return The application process.
+     * @throws IOException if the process cannot be started.
+     */
+    private static Process start(final LoadTestConfig config, final Path log) throws IOException {
+        if (config.jar().isEmpty()) {
+            throw new IllegalStateException("No application jar , set load-test.jar or load-test.base-url");
+        }
+        final List<String> command = new ArrayList<>(List.of(
+                Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+                "-jar",
+                config.jar(),
+                "--server.port=" + config.port()));
+        command.addAll(config.serverArgs());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private static void awaitHealthy(final HttpClient client, final String baseUrl, final Process server)
+            throws IOException, InterruptedException {
+
+        final HttpRequest health = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        final long deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!server.isAlive()) {
+                throw new IllegalStateException("The application exited with " + server.exitValue()
+                        + " , see server.log");
+            }
+            try {
+                if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (final ConnectException e) {
+                // Not listening yet.
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+        throw new IllegalStateException("The application did not start within " + STARTUP_TIMEOUT + " , see server.log");
+    }
+
+    /**
+     * Reads every record of the given resource , only selecting its id and the given attributes.
+     * @param client     The client to send requests with.
+     * @param baseUrl    The base url of the server.
+     * @param resource   The resource i.e schools.
+     * @param attributes The attributes to read besides the id.
+     * @return The records.
+     * @throws IOException if the records cannot be read.
+     * @throws InterruptedException if interrupted while reading the records.
+     */
+    private static List<JsonNode> readRecords(
+            final HttpClient client,
+            final String baseUrl,
+            final String resource,
+            final Set<String> attributes) throws IOException, InterruptedException {
+
+        final String idField = ID_FIELDS.get(resource);
+        if (idField == null) {
+            throw new IllegalArgumentException("Unknown resource : " + resource + " , expected one of "
+                    + ID_FIELDS.keySet());
+        }
+        final String fields = URLEncoder.encode(
+                idField + (attributes.isEmpty() ? "" : ',' + String.join(",", attributes)), StandardCharsets.UTF_8);
+        final List<JsonNode> records = new ArrayList<>();
+        String token = null;
+        do {
+            final String url = baseUrl + '/' + resource + "?maxResults=" + PAGE_SIZE + "&fields=" + fields
+                    + (token == null ? "" : "&nextToken=" + URLEncoder.encode(token, StandardCharsets.UTF_8));
+            final HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(URI.create(url)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Cannot read " + resource + " , " + response.statusCode() + " for " + url);
+            }
+            final JsonNode page = MAPPER.readTree(response.body());
+            page.path("data").forEach(records::add);
+            token = page.path("nextToken").isTextual() ? page.path("nextToken").asText() : null;
+        } while (token != null);
+
+        if (records.isEmpty()) {
+            throw new IllegalStateException("No " + resource + " to look up , is the datastore seeded ?");
+        }
+        return records;
+    }
+}
@@ -0,0 +1,164 @@
+package com.south.african.data.api.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * The configuration of the load test , read from load-test.properties and overridden by the system properties of the
+ * same names.
+ */
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class LoadTestConfig {
+
+    private static final String PREFIX = "load-test.";
+    private static final String SCENARIOS = PREFIX + "scenarios.";
+
+    private final Properties properties;
+
+    private LoadTestConfig(final Properties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Reads the configuration.
+     * @return The configuration of load-test.properties , with the load-test.* system properties taking precedence.
+     */
+    public static LoadTestConfig load() {
+        final Properties properties = new Properties();
+        try (InputStream defaults = LoadTestConfig.class.getResourceAsStream("/load-test.properties")) {
+            properties.load(defaults);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (final String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PREFIX)) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+        return new LoadTestConfig(properties);
+    }
+
+    /**
+     * The base url of the server under test , empty if the application jar is started by the load test.
+     * @return The base url i.e http://localhost:8080 , or empty.
+     */
+    public String baseUrl() {
+        return get("base-url", "");
+    }
+
+    /**
+     * The port the application jar is started on.
+     * @return The server port.
+     */
+    public int port() {
+        return Integer.parseInt(get("port", "8082"));
+    }
+
+    /**
+     * The application jar started by the load test.
+     * @return The path of the jar , empty if none is configured.
+     */
+    public String jar() {
+        return get("jar", "");
+    }
+
+    /**
+     * The arguments the application jar is started with , in addition to its port.
+     * @return The application arguments.
+     */
+    public List<String> serverArgs() {
+        return list("server-args");
+    }
+
+    /**
+     * The time requests are sent for before measuring.
+     * @return The warm up duration.
+     */
+    public Duration warmup() {
+        return duration("warmup", "20s");
+    }
+
+    /**
+     * The time requests are measured for.
+     * @return The measured duration.
+     */
+    public Duration duration() {
+        return duration("duration", "60s");
+    }
+
+    /**
+     * The percentage a latency or throughput may regress by against the baseline.
+     * @param metric The metric i.e p50 , p99 or throughput.
+     * @return The threshold in percent.
+     */
+    public double threshold(final String metric) {
+        return Double.parseDouble(get("thresholds." + metric, "0"));
+    }
+
+    /**
+     * Creates the configured scenarios.
+     * @return The scenarios , in name order.
+     */
+    public List<Scenario> scenarios() {
+        final TreeSet<String> names = properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith(SCENARIOS))
+                .map(name -> name.substring(SCENARIOS.length(), name.lastIndexOf('.')))
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        final List<Scenario> scenarios = new ArrayList<>();
+        for (final String name : names) {
+            final String prefix = "scenarios." + name + '.';
+            final String kind = get(prefix + "kind", null);
+            final String resource = get(prefix + "resource", null);
+            if (kind == null || resource == null) {
+                throw new IllegalArgumentException("Scenario : " + name + " , needs a kind and a resource");
+            }
+            scenarios.add(new Scenario(
+                    name,
+                    Scenario.Kind.valueOf(kind.toUpperCase()),
+                    resource,
+                    get(prefix + "query", ""),
+                    list(prefix + "filters"),
+                    Integer.parseInt(get(prefix + "pages", "1")),
+                    Double.parseDouble(get(prefix + "rate", "1"))));
+        }
+        return scenarios;
+    }
+
+    private String get(final String name, final String defaultValue) {
+        return properties.getProperty(PREFIX + name, defaultValue).strip();
+    }
+
+    private List<String> list(final String name) {
+        return Arrays.stream(get(name, "").split(","))
+                .map(String::strip)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Parses a duration of the form 500ms , 20s or 5m.
+     * @param name         The property name.
+     * @param defaultValue The duration if the property is not set.
+     * @return The duration.
+     */
+    private Duration duration(final String name, final String defaultValue) {
+        final String value = get(name, defaultValue);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        } else if (value.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+        } else if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        throw new IllegalArgumentException("Invalid duration : " + value + " , for " + PREFIX + name);
+    }
+}
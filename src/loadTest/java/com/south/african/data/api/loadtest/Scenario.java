@@ -0,0 +1,311 @@
+package com.south.african.data.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A kind of request , sent at a fixed rate whatever the latency of earlier requests. The latency of a request is
+ * measured from the time it was due rather than the time it was sent , so a server falling behind shows in the
+ * latency instead of slowing the load down. Ids and filter values are taken from a random record of the whole dataset
+ * for every request , so requests spread over the dataset as real traffic does rather than replaying a few urls.
+ */
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class Scenario {
+
+    /**
+     * The kinds of scenario.
+     */
+    public enum Kind {
+        /**
+         * Fetches a random record by id.
+         */
+        LOOKUP,
+        /**
+         * Fetches a list with the query and filters of the scenario.
+         */
+        LIST,
+        /**
+         * Pages through a list with the query and filters of the scenario , by following the next tokens for some pages.
+         */
+        WALK
+    }
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final String name;
+    private final Kind kind;
+    private final String resource;
+    private final String query;
+    private final List<String> filters;
+    private final int pages;
+    private final double rate;
+
+    private final Recorder recorder = new Recorder(HIGHEST_MICROS, 3);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates a scenario.
+     * @param name     The scenario name.
+     * @param kind     The kind of requests.
+     * @param resource The resource i.e schools.
+     * @param query    The query string of lists and walks , i.e maxResults=100.
+     * @param filters  The attributes lists and walks filter on , with the values of a random record.
+     * @param pages    The number of pages of a walk.
+     * @param rate     The number of lookups , lists or walks started per second.
+     */
+    public Scenario(
+            final String name,
+            final Kind kind,
+            final String resource,
+            final String query,
+            final List<String> filters,
+            final int pages,
+            final double rate) {
+
+        if (rate <= 0 || pages < 1) {
+            throw new IllegalArgumentException("Scenario : " + name + " , needs a positive rate and number of pages");
+        }
+        this.name = name;
+        this.kind = kind;
+        this.resource = resource;
+        this.query = encode(query);
+        this.filters = List.copyOf(filters);
+        this.pages = pages;
+        this.rate = rate;
+    }
+
+    /**
+     * The scenario name.
+     * @return The name of the scenario.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * The resource of the scenario.
+     * @return The resource i.e schools.
+     */
+    public String resource() {
+        return resource;
+    }
+
+    /**
+     * Checks whether the scenario takes ids or filter values from the records of its resource.
+     * @return true for lookups and filtered lists.
+     */
+    public boolean needsRecords() {
+        return kind == Kind.LOOKUP || !filters.isEmpty();
+    }
+
+    /**
+     * The attributes the scenario filters on.
+     * @return The filter attributes , empty if the scenario does not filter.
+     */
+    public List<String> filters() {
+        return filters;
+    }
+
+    /**
+     * Sends the requests of the scenario at its rate , from the given time until the given deadline.
+     * @param client  The client to send requests with.
+     * @param baseUrl The base url of the server.
+     * @param records The records of the resource , with their id and filter attributes.
+     * @param idField The id attribute of the resource.
+     * @param start   The time the first request is due , in {@link System#nanoTime()}.
+     * @param end     The time no more requests are sent after , in {@link System#nanoTime()}.
+     */
+    public void run(
+            final HttpClient client,
+            final String baseUrl,
+            final List<JsonNode> records,
+            final String idField,
+            final long start,
+            final long end) {
+
+        final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        for (long due = start; due < end; due += interval) {
+            final long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.incrementAndGet();
+            final JsonNode record = needsRecords() ? records.get(ThreadLocalRandom.current().nextInt(records.size())) : null;
+            if (kind == Kind.LOOKUP) {
+                final String id = record.path(idField).asText();
+                send(client, baseUrl + '/' + resource + '/' + URLEncoder.encode(id, StandardCharsets.UTF_8), due);
+            } else {
+                final String listQuery = join(query, filterQuery(record));
+                page(client, baseUrl + '/' + resource + (listQuery.isEmpty() ? "" : '?' + listQuery), null, 1, due);
+            }
+        }
+    }
+
+    private void send(final HttpClient client, final String url, final long due) {
+        client.sendAsync(request(url), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    record(due, response == null ? 0 : response.statusCode());
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Fetches a page of a list , then the next one for walks until the last page or the number of pages of the walk.
+     * @param client The client to send requests with.
+     * @param url    The url of the list.
+     * @param token  The next token of the previous page , null for the first page.
+     * @param page   The number of the page , from 1.
+     * @param due    The time the page was due , in {@link System#nanoTime()}.
+     */
+    private void page(final HttpClient client, final String url, final String token, final int page, final long due) {
+        final String pageUrl = token == null
+                ? url
+                : url + (url.indexOf('?') < 0 ? '?' : '&') + "nextToken=" + URLEncoder.encode(token, StandardCharsets.UTF_8);
+        client.sendAsync(request(pageUrl), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, error) -> {
+                    final int status = response == null ? 0 : response.statusCode();
+                    record(due, status);
+                    final String next = kind == Kind.WALK && page < pages && status == 200
+                            ? nextToken(response.body())
+                            : null;
+                    if (next == null) {
+                        inFlight.decrementAndGet();
+                    } else {
+                        page(client, url, next, page + 1, System.nanoTime());
+                    }
+                });
+    }
+
+    private void record(final long due, final int status) {
+        recorder.recordValue(Math.min(HIGHEST_MICROS, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due)));
+        requests.increment();
+        if (status != 200) {
+            errors.increment();
+        }
+    }
+
+    private static HttpRequest request(final String url) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Accept", "application/json")
+                .timeout(TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    private static String nextToken(final byte[] body) {
+        try {
+            final JsonNode token = MAPPER.readTree(body).get("nextToken");
+            return token == null || token.isNull() ? null : token.asText();
+        } catch (final IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The query string filtering on the values of the given record.
+     * @param record The record , null if the scenario does not filter.
+     * @return The encoded filter parameters , i.e filter-key-1=province&amp;filter-key-1-value=Gauteng.
+     */
+    private String filterQuery(final JsonNode record) {
+        final StringBuilder filterQuery = new StringBuilder();
+        for (int i = 0; record != null && i < filters.size(); i++) {
+            final String key = "filter-key-" + (i + 1);
+            // Records without a value are matched by the null filter value.
+            final String value = record.path(filters.get(i)).asText("null");
+            filterQuery.append(filterQuery.length() == 0 ? "" : "&")
+                    .append(key).append('=').append(URLEncoder.encode(filters.get(i), StandardCharsets.UTF_8))
+                    .append('&').append(key).append("-value=").append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+        return filterQuery.toString();
+    }
+
+    private static String join(final String query, final String other) {
+        return query.isEmpty() || other.isEmpty() ? query + other : query + '&' + other;
+    }
+
+    /**
+     * URL encodes the names and values of a query string , so it can be configured unencoded.
+     * @param query The query string.
+     * @return The encoded query string.
+     */
+    static String encode(final String query) {
+        final StringBuilder encoded = new StringBuilder();
+        for (final String parameter : query.split("&")) {
+            if (parameter.isEmpty()) {
+                continue;
+            }
+            final int separator = parameter.indexOf('=');
+            encoded.append(encoded.length() == 0 ? "" : "&");
+            if (separator < 0) {
+                encoded.append(URLEncoder.encode(parameter, StandardCharsets.UTF_8));
+            } else {
+                encoded.append(URLEncoder.encode(parameter.substring(0, separator), StandardCharsets.UTF_8))
+                        .append('=')
+                        .append(URLEncoder.encode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Discards the latencies and counts recorded so far i.e during the warm up.
+     */
+    public void reset() {
+        recorder.getIntervalHistogram();
+        requests.reset();
+        errors.reset();
+    }
+
+    /**
+     * The latencies recorded since the last reset.
+     * @return The histogram of the latencies , in microseconds.
+     */
+    public Histogram histogram() {
+        return recorder.getIntervalHistogram();
+    }
+
+    /**
+     * The number of requests completed since the last reset.
+     * @return The number of requests , pages for walks.
+     */
+    public long requests() {
+        return requests.sum();
+    }
+
+    /**
+     * The number of requests that failed since the last reset i.e were not answered with a 200.
+     * @return The number of failed requests.
+     */
+    public long errors() {
+        return errors.sum();
+    }
+
+    /**
+     * The number of lookups , lists or walks not completed yet.
+     * @return The number of requests in flight.
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+}
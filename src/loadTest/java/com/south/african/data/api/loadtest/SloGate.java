@@ -0,0 +1,76 @@
+package com.south.african.data.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks the results of a load test against the results of the baseline. A scenario fails if its median or p99
+ * latency grows , or its throughput drops , by more than the configured percentage , or if too many of its requests
+ * fail. Latencies may also grow by the configured slack whatever the percentage , so sub millisecond latencies do not
+ * fail on noise. Scenarios missing from the baseline are only checked for errors.
+ */
+public final class SloGate {
+
+    private SloGate() { }
+
+    /**
+     * Lists the violations of the results.
+     * @param results  The results , see {@link LoadTest}.
+     * @param baseline The results of the baseline , null if there is none.
+     * @param config   The configuration holding the thresholds.
+     * @return A description of each violation , empty if none.
+     */
+    public static List<String> violations(final JsonNode results, final JsonNode baseline, final LoadTestConfig config) {
+        final List<String> violations = new ArrayList<>();
+        final Iterator<Map.Entry<String, JsonNode>> scenarios = results.path("scenarios").fields();
+        while (scenarios.hasNext()) {
+            final Map.Entry<String, JsonNode> scenario = scenarios.next();
+            final String name = scenario.getKey();
+            final JsonNode current = scenario.getValue();
+
+            final double errorRate = current.path("errorRate").asDouble();
+            if (errorRate > config.threshold("max-error-rate")) {
+                violations.add(String.format("%s : %.2f%% of the requests failed , at most %.2f%% may",
+                        name, errorRate, config.threshold("max-error-rate")));
+            }
+
+            final JsonNode before = baseline == null ? null : baseline.path("scenarios").get(name);
+            if (before == null) {
+                continue;
+            }
+            final double slack = config.threshold("latency-slack");
+            checkLatency(violations, name, "p50", before, current, config.threshold("p50"), slack);
+            checkLatency(violations, name, "p99", before, current, config.threshold("p99"), slack);
+
+            final double throughput = before.path("throughput").asDouble();
+            final double minimum = throughput * (1 - config.threshold("throughput") / 100);
+            if (current.path("throughput").asDouble() < minimum) {
+                violations.add(String.format("%s : throughput %.1f/s , below %.1f/s i.e the baseline %.1f/s - %s%%",
+                        name, current.path("throughput").asDouble(), minimum, throughput,
+                        config.threshold("throughput")));
+            }
+        }
+        return violations;
+    }
+
+    private static void checkLatency(
+            final List<String> violations,
+            final String name,
+            final String percentile,
+            final JsonNode before,
+            final JsonNode current,
+            final double threshold,
+            final double slack) {
+
+        final double baseline = before.path(percentile).asDouble();
+        final double maximum = Math.max(baseline * (1 + threshold / 100), baseline + slack);
+        if (current.path(percentile).asDouble() > maximum) {
+            violations.add(String.format("%s : %s %.2fms , above %.2fms i.e the baseline %.2fms + %s%% or %sms",
+                    name, percentile, current.path(percentile).asDouble(), maximum, baseline, threshold, slack));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.south.african.data.api.actuator;
+
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.util.filter.FilterMetadata;
+import com.south.african.data.api.util.filter.FilterRegistry;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Actuator endpoint exposing the filters of each resource from the {@link FilterRegistry}, including whether the
+ * datastore has an index for a filter i.e /actuator/filters and /actuator/filters/{resource}.
+ */
+@Component
+@Endpoint(id = "filters")
+public class FiltersEndpoint {
+
+    /**
+     * Retrieves the filters of every registered resource.
+     * @return The filter metadata keyed by resource name.
+     */
+    @ReadOperation
+    public Map<String, Collection<FilterMetadata>> filters() {
+        final ImmutableMap.Builder<String, Collection<FilterMetadata>> filters = new ImmutableMap.Builder<>();
+        for (final Map.Entry<String, Class<?>> resource : FilterRegistry.registered().entrySet()) {
+            filters.put(resource.getKey(), FilterRegistry.metadata(resource.getValue()).values());
+        }
+        return filters.build();
+    }
+
+    /**
+     * Retrieves the filters of the given resource.
+     * @param resource The resource name i.e School.
+     * @return The filter metadata of the resource , null if there is no such resource.
+     */
+    @ReadOperation
+    public Collection<FilterMetadata> resourceFilters(@Selector final String resource) {
+        final Class<?> clazz = FilterRegistry.registered().get(resource);
+        return clazz == null ? null : FilterRegistry.metadata(clazz).values();
+    }
+}
@@ -0,0 +1,118 @@
+package com.south.african.data.api.actuator;
+
+import com.south.african.data.api.util.profiling.Profiler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Actuator endpoint starting and stopping JFR recordings of the running server , see {@link Profiler} i.e
+ * POST /actuator/profiling with {"seconds": 60} starts a recording , DELETE /actuator/profiling stops it ,
+ * GET /actuator/profiling/jfr downloads it and GET /actuator/profiling/collapsed?kind=cpu|allocation downloads its
+ * collapsed stacks. Disabled unless management.endpoint.profiling.enabled is true , since recordings expose the code
+ * and the threads of the server to whoever downloads them.
+ */
+@Component
+@Endpoint(id = "profiling", enableByDefault = false)
+public class ProfilingEndpoint {
+
+    /**
+     * The recording length when none is given.
+     */
+    private static final long DEFAULT_SECONDS = 60;
+
+    /**
+     * Runs the recordings.
+     */
+    @Autowired
+    private Profiler profiler;
+
+    /**
+     * Retrieves the state of the current or last recording.
+     * @return The recording state , null if none was started.
+     */
+    @ReadOperation
+    public Map<String, Object> status() {
+        return profiler.status();
+    }
+
+    /**
+     * Starts a recording.
+     * @param seconds How long to record for , 60 seconds if not given.
+     * @return The recording state , with 409 Conflict if a recording is already running.
+     * @throws IOException if the recording settings cannot be read.
+     * @throws ParseException if the recording settings cannot be parsed.
+     */
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> start(@Nullable final Long seconds)
+            throws IOException, ParseException {
+
+        final boolean started = profiler.start(Duration.ofSeconds(seconds == null ? DEFAULT_SECONDS : seconds));
+        return new WebEndpointResponse<>(profiler.status(), started
+                ? WebEndpointResponse.STATUS_OK
+                : HttpStatus.CONFLICT.value());
+    }
+
+    /**
+     * Stops the running recording , its data can be downloaded until the next recording starts.
+     * @return The recording state , null if none was started.
+     */
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        profiler.stop();
+        return profiler.status();
+    }
+
+    /**
+     * Downloads the data recorded so far.
+     * @param format jfr for the recording file , collapsed for its collapsed stacks.
+     * @param kind   The stacks to collapse , cpu (the default) or allocation.
+     * @return The recording file or the collapsed stacks , 404 if no recording was started.
+     * @throws IOException if the recording cannot be written or read.
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector final String format, @Nullable final String kind)
+            throws IOException {
+
+        if ("collapsed".equals(format)) {
+            final String collapsed = profiler.collapsed(kind == null ? "cpu" : kind);
+            return collapsed == null
+                    ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)
+                    : new WebEndpointResponse<>(new ByteArrayResource(collapsed.getBytes(StandardCharsets.UTF_8)));
+        } else if (!"jfr".equals(format)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        final Path file = profiler.dump();
+        if (file == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        // Streamed from the file , which is deleted once the download closes it.
+        try {
+            return new WebEndpointResponse<>(new InputStreamResource(
+                    Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE)));
+        } catch (final IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+}
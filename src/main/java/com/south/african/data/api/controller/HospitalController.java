@@ -2,29 +2,36 @@ package com.south.african.data.api.controller;
 
 import com.south.african.data.api.util.query.Query;
 import com.south.african.data.api.util.query.QueryException;
+import com.south.african.data.api.util.query.parameter.Fields;
 import com.south.african.data.api.util.query.parameter.MaxResults;
 import com.south.african.data.api.util.query.parameter.NextToken;
+import com.south.african.data.api.util.request.BatchGetRequest;
 import com.south.african.data.api.util.request.Request;
+import com.south.african.data.api.util.response.BatchGetResponse;
+import com.south.african.data.api.util.response.ExportFormat;
 import com.south.african.data.api.util.response.Response;
 import com.south.african.data.api.entity.Hospital;
 import com.south.african.data.api.service.HospitalService;
 import com.south.african.data.api.util.filter.FilterUtil;
 import com.south.african.data.api.util.resource.ResourceException;
-import com.south.african.data.api.util.throttling.Throttling;
-import io.github.bucket4j.Bucket;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -34,7 +41,7 @@ import java.util.List;
         allowCredentials = "false",
         origins = "*",
         allowedHeaders = "*",
-        methods = {RequestMethod.GET}
+        methods = {RequestMethod.GET, RequestMethod.POST}
 )
 @SuppressWarnings("unchecked")
 @RestController
@@ -46,11 +53,6 @@ public class HospitalController {
     @Autowired
     private HospitalService hospitalService;
 
-    /**
-     * default throttling bucket.
-     */
-    private final Bucket bucket = Throttling.defaultThrottlingBucket();
-
     @Operation(summary = "Retrieves hospitals that satisfy given query parameters.")
     @GetMapping(value = "/hospitals", produces = "application/json")
     ResponseEntity<Response<List<Hospital>>> getHospitals(
@@ -59,14 +61,34 @@ public class HospitalController {
             @Parameter(name = MaxResults.KEY, description = MaxResults.DESCRIPTION)
             @RequestParam(required = false) final Integer maxResults,
             @Parameter(name = NextToken.KEY, description = NextToken.DESCRIPTION)
-            @RequestParam(required = false) final String nextToken) throws QueryException {
+            @RequestParam(required = false) final String nextToken,
+            @Parameter(name = Fields.KEY, description = Fields.DESCRIPTION)
+            @RequestParam(required = false) final String fields,
+            final HttpServletResponse response) throws QueryException, IOException {
 
-        if (bucket.tryConsume(1)) {
-            FilterUtil.validateFilters(Hospital.class, query.getFilters());
-            return hospitalService.getHospitals(request, query);
+        FilterUtil.validateFilters(Hospital.class, query.getFilters());
+        query.getFields().validate(Hospital.class);
+        if (hospitalService.streams(query)) {
+            // The response has been written , there is no entity to return.
+            hospitalService.streamHospitals(request, query, response);
+            return null;
         }
+        return hospitalService.getHospitals(request, query);
+    }
+
+    @Operation(summary = "Exports all hospitals that satisfy given filters as newline delimited JSON or CSV.")
+    @GetMapping("/hospitals/export")
+    ResponseEntity<Void> exportHospitals(
+            @RequestAttribute(Request.KEY) final Request request,
+            @RequestAttribute(Query.KEY) final Query query,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+            final HttpServletResponse response) throws QueryException, IOException {
 
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        FilterUtil.validateFilters(Hospital.class, query.getFilters());
+        query.getFields().validate(Hospital.class);
+        // The response has been written , there is no entity to return.
+        hospitalService.exportHospitals(request, query, ExportFormat.negotiate(accept), response);
+        return null;
     }
 
     @Operation(summary = "Retrieves a hospital with the given id.")
@@ -76,10 +98,19 @@ public class HospitalController {
             @RequestAttribute(Query.KEY) final Query query,
             @PathVariable final String hospitalId) throws ResourceException, QueryException {
 
-        if (bucket.tryConsume(1)) {
-            FilterUtil.validateFilters(Hospital.class, query.getFilters());
-            return hospitalService.getHospital(request, hospitalId);
-        }
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        FilterUtil.validateFilters(Hospital.class, query.getFilters());
+        query.getFields().validate(Hospital.class);
+        return hospitalService.getHospital(request, hospitalId);
+    }
+
+    @Operation(summary = "Retrieves the hospitals with the given ids , in the order of the ids , and the ids not found.")
+    @PostMapping(value = "/hospitals/batch-get", consumes = "application/json", produces = "application/json")
+    ResponseEntity<BatchGetResponse<Hospital>> batchGetHospitals(
+            @RequestAttribute(Request.KEY) final Request request,
+            @RequestAttribute(Query.KEY) final Query query,
+            @RequestBody final BatchGetRequest batchGet) throws QueryException {
+
+        query.getFields().validate(Hospital.class);
+        return hospitalService.batchGetHospitals(request, query, batchGet);
     }
 }
@@ -5,26 +5,34 @@ import com.south.african.data.api.entity.School;
 import com.south.african.data.api.service.SchoolService;
 import com.south.african.data.api.util.filter.FilterUtil;
 import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.parameter.Fields;
 import com.south.african.data.api.util.query.parameter.MaxResults;
 import com.south.african.data.api.util.query.parameter.NextToken;
+import com.south.african.data.api.util.request.BatchGetRequest;
 import com.south.african.data.api.util.request.Request;
 import com.south.african.data.api.util.resource.ResourceException;
+import com.south.african.data.api.util.response.BatchGetResponse;
+import com.south.african.data.api.util.response.ExportFormat;
 import com.south.african.data.api.util.response.Response;
-import com.south.african.data.api.util.throttling.Throttling;
-import io.github.bucket4j.Bucket;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
 import java.util.List;
 
 /**
@@ -34,7 +42,7 @@ import java.util.List;
         allowCredentials = "false",
         origins = "*",
         allowedHeaders = "*",
-        methods = {RequestMethod.GET}
+        methods = {RequestMethod.GET, RequestMethod.POST}
 )
 @SuppressWarnings("unchecked")
 @RestController
@@ -46,11 +54,6 @@ public class SchoolController {
     @Autowired
     private SchoolService schoolService;
 
-    /**
-     * The default throttling bucket.
-     */
-    private final Bucket bucket = Throttling.defaultThrottlingBucket();
-
     @Operation(summary = "Retrieves schools that satisfy given query parameters.")
     @GetMapping(value = "/schools", produces = "application/json")
     ResponseEntity<Response<List<School>>> getSchools(
@@ -59,14 +62,34 @@ public class SchoolController {
             @Parameter(name = MaxResults.KEY, description = MaxResults.DESCRIPTION)
             @RequestParam(required = false) final Integer maxResults,
             @Parameter(name = NextToken.KEY, description = NextToken.DESCRIPTION)
-            @RequestParam(required = false) final String nextToken) throws QueryException {
+            @RequestParam(required = false) final String nextToken,
+            @Parameter(name = Fields.KEY, description = Fields.DESCRIPTION)
+            @RequestParam(required = false) final String fields,
+            final HttpServletResponse response) throws QueryException, IOException {
 
-        if (bucket.tryConsume(1)) {
-            FilterUtil.validateFilters(School.class, query.getFilters());
-            return schoolService.getSchools(request, query);
+        FilterUtil.validateFilters(School.class, query.getFilters());
+        query.getFields().validate(School.class);
+        if (schoolService.streams(query)) {
+            // The response has been written , there is no entity to return.
+            schoolService.streamSchools(request, query, response);
+            return null;
         }
+        return schoolService.getSchools(request, query);
+    }
 
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+    @Operation(summary = "Exports all schools that satisfy given filters as newline delimited JSON or CSV.")
+    @GetMapping("/schools/export")
+    ResponseEntity<Void> exportSchools(
+            @RequestAttribute(Request.KEY) final Request request,
+            @RequestAttribute(Query.KEY) final Query query,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) final String accept,
+            final HttpServletResponse response) throws QueryException, IOException {
+
+        FilterUtil.validateFilters(School.class, query.getFilters());
+        query.getFields().validate(School.class);
+        // The response has been written , there is no entity to return.
+        schoolService.exportSchools(request, query, ExportFormat.negotiate(accept), response);
+        return null;
     }
 
     @Operation(summary = "Retrieves a school with the given id.")
@@ -76,11 +99,19 @@ public class SchoolController {
             @RequestAttribute(Query.KEY) final Query query,
             @PathVariable final String schoolId) throws ResourceException, QueryException {
 
-        if (bucket.tryConsume(1)) {
-            FilterUtil.validateFilters(School.class, query.getFilters());
-            return schoolService.getSchool(request, schoolId);
-        }
+        FilterUtil.validateFilters(School.class, query.getFilters());
+        query.getFields().validate(School.class);
+        return schoolService.getSchool(request, schoolId);
+    }
+
+    @Operation(summary = "Retrieves the schools with the given ids , in the order of the ids , and the ids not found.")
+    @PostMapping(value = "/schools/batch-get", consumes = "application/json", produces = "application/json")
+    ResponseEntity<BatchGetResponse<School>> batchGetSchools(
+            @RequestAttribute(Request.KEY) final Request request,
+            @RequestAttribute(Query.KEY) final Query query,
+            @RequestBody final BatchGetRequest batchGet) throws QueryException {
 
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        query.getFields().validate(School.class);
+        return schoolService.batchGetSchools(request, query, batchGet);
     }
 }
@@ -1,12 +1,18 @@
 package com.south.african.data.api.entity;
 
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.south.african.data.api.util.filter.Filter;
+import com.south.african.data.api.util.query.parameter.Fields;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -15,10 +21,15 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 
 /**
- * Hospital entity, represents how the resource is modeled in the datastore.
+ * Hospital entity, represents how the resource is modeled in the datastore. Immutable , since hospitals are only
+ * written when the datastore is seeded.
  */
 @Entity
 @Table(name = "Hospital")
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "hospitals")
+@JsonFilter(Fields.FILTER)
 @Getter
 @Setter
 @RequiredArgsConstructor
@@ -1,12 +1,18 @@
 package com.south.african.data.api.entity;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.south.african.data.api.util.filter.Filter;
+import com.south.african.data.api.util.query.parameter.Fields;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
@@ -15,10 +21,15 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 
 /**
- * School entity, represents how the resource is modeled in the datastore.
+ * School entity, represents how the resource is modeled in the datastore. Schools are only written by the seed script ,
+ * so the entity is immutable , which spares Hibernate keeping a copy of every loaded school for dirty checking.
  */
 @Entity
 @Table(name = "School")
+@Immutable
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "schools")
+@JsonFilter(Fields.FILTER)
 @Getter
 @Setter
 @RequiredArgsConstructor
@@ -31,7 +42,7 @@ public class School {
     @JsonIgnore
     private final Long id;
 
-    @Filter
+    @Filter(indexed = true)
     private final Long schoolId;
 
     @Filter
@@ -0,0 +1,166 @@
+package com.south.african.data.api.interceptor;
+
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.request.Request;
+import com.south.african.data.api.util.throttling.ConcurrencyLimit;
+import com.south.african.data.api.util.throttling.ConcurrencyProperties;
+import com.south.african.data.api.util.throttling.Throttling;
+import io.github.bucket4j.Bucket;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
+/**
+ * The interceptor shedding load in front of the service layer , see {@link ConcurrencyLimit}. Lookups by id and list
+ * queries have separate limits , so a burst of expensive lists cannot starve cheap lookups. Requests over the limit of
+ * their class are answered with 503 Service Unavailable here , before their query is parsed or any work is done , and
+ * the token they were admitted for by the {@link ThrottlingInterceptor} is given back.
+ */
+@Component
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    /**
+     * The class of lookups by id in the path.
+     */
+    static final String LOOKUP = "lookup";
+
+    /**
+     * The class of list queries , batch gets and exports.
+     */
+    static final String LIST = "list";
+
+    /**
+     * The request attribute holding the limit a request was admitted by.
+     */
+    private static final String LIMIT_KEY = "concurrencyLimit";
+
+    /**
+     * The concurrency limits configuration.
+     */
+    @Autowired
+    private ConcurrencyProperties properties;
+
+    /**
+     * The registry the limits are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * The limits keyed by class.
+     */
+    private Map<String, ConcurrencyLimit> limits;
+
+    /**
+     * Creates the limits and registers their metrics.
+     */
+    @PostConstruct
+    public void init() {
+        limits = ImmutableMap.of(
+                LOOKUP, properties.getLookup().create(properties.getBackoffRatio()),
+                LIST, properties.getList().create(properties.getBackoffRatio()));
+
+        for (final Map.Entry<String, ConcurrencyLimit> limit : limits.entrySet()) {
+            Gauge.builder("concurrency.limit", limit.getValue(), ConcurrencyLimit::getLimit)
+                    .tag("class", limit.getKey())
+                    .description("Number of requests that can be served at once")
+                    .register(meterRegistry);
+            Gauge.builder("concurrency.in.flight", limit.getValue(), ConcurrencyLimit::getInFlight)
+                    .tag("class", limit.getKey())
+                    .description("Number of requests being served")
+                    .register(meterRegistry);
+            FunctionCounter.builder("concurrency.rejections", limit.getValue(), ConcurrencyLimit::getRejected)
+                    .tag("class", limit.getKey())
+                    .description("Number of requests rejected for exceeding the concurrency limit")
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler) throws Exception {
+
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        final ConcurrencyLimit limit = limits.get(classify(request.getServletPath()));
+        if (limit.tryAcquire()) {
+            request.setAttribute(LIMIT_KEY, limit);
+            return true;
+        }
+
+        // Nothing was read , so the admission token is given back , shedding is not the client's fault.
+        final Bucket bucket = (Bucket) request.getAttribute(Throttling.BUCKET_KEY);
+        if (bucket != null) {
+            bucket.addTokens(1);
+        }
+
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        if (req != null) {
+            req.getMetrics().addCount("shed", 1);
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(properties.getRetryAfterSeconds()));
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        return false;
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex) {
+
+        final ConcurrencyLimit limit = (ConcurrencyLimit) request.getAttribute(LIMIT_KEY);
+        if (limit == null) {
+            return;
+        }
+
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        if (req == null || !sampled(request)) {
+            limit.releaseWithoutSample();
+        } else {
+            limit.release(req.elapsedMillis());
+        }
+    }
+
+    /**
+     * Checks whether the latency of the given request is a sample of the load. Exports and unpaginated lists read whole
+     * datasets , and batch gets read up to thousands of ids , their latency is long whatever the load.
+     * @param request The servlet request.
+     * @return true if the latency of the request adjusts the limit.
+     */
+    private static boolean sampled(final HttpServletRequest request) {
+        final String path = request.getServletPath();
+        if (path.endsWith("/export") || path.endsWith("/batch-get")) {
+            return false;
+        }
+        final Query query = (Query) request.getAttribute(Query.KEY);
+        return query == null || query.isPaginated() || LOOKUP.equals(classify(request.getServletPath()));
+    }
+
+    /**
+     * Classifies the request to the given path.
+     * @param path The request path.
+     * @return {@link ConcurrencyLimitInterceptor#LOOKUP} for lookups by id , {@link ConcurrencyLimitInterceptor#LIST}
+     *         for list queries , batch gets and exports.
+     */
+    static String classify(final String path) {
+        final String[] segments = path.split("/");
+        return segments.length > 2 && !"export".equals(segments[2]) && !"batch-get".equals(segments[2]) ? LOOKUP : LIST;
+    }
+}
@@ -0,0 +1,85 @@
+package com.south.african.data.api.interceptor;
+
+import com.south.african.data.api.util.cache.DatasetVersion;
+import com.south.african.data.api.util.cache.ResponseCache;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.request.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Enumeration;
+
+/**
+ * The interceptor for conditional requests. The entity tag of a response is derived from the {@link DatasetVersion}
+ * and the canonical query , so a request whose If-None-Match holds that tag is answered with 304 Not Modified here ,
+ * without reaching the controllers.
+ */
+@Component
+public class ConditionalRequestInterceptor implements HandlerInterceptor {
+
+    /**
+     * The dataset version.
+     */
+    @Autowired
+    private DatasetVersion datasetVersion;
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler) throws Exception {
+
+        final Query query = (Query) request.getAttribute(Query.KEY);
+        if (query == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        final String entityTag = datasetVersion.entityTag(ResponseCache.key(request, query));
+        if (entityTag == null) {
+            return true;
+        }
+        request.setAttribute(DatasetVersion.KEY, entityTag);
+
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), entityTag)) {
+            final Request req = (Request) request.getAttribute(Request.KEY);
+            req.getMetrics().addCount("notModified", 1);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            response.setHeader(HttpHeaders.ETAG, entityTag);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks the If-None-Match headers against the entity tag , using the weak comparison If-None-Match calls for.
+     * @param headers   The If-None-Match headers.
+     * @param entityTag The entity tag of the response.
+     * @return Whether any of the headers matches the entity tag.
+     */
+    private static boolean matches(final Enumeration<String> headers, final String entityTag) {
+        while (headers != null && headers.hasMoreElements()) {
+            for (final String tag : headers.nextElement().split(",")) {
+                final String candidate = tag.trim();
+                if (candidate.equals("*") || opaqueTag(candidate).equals(opaqueTag(entityTag))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The opaque tag of an entity tag , without the weak indicator , as weak comparison compares them.
+     * @param entityTag The entity tag.
+     * @return The quoted opaque tag.
+     */
+    private static String opaqueTag(final String entityTag) {
+        return entityTag.startsWith("W/") ? entityTag.substring(2) : entityTag;
+    }
+}
@@ -0,0 +1,136 @@
+package com.south.african.data.api.interceptor;
+
+import com.south.african.data.api.util.metrics.Metrics;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.request.Request;
+import com.south.african.data.api.util.throttling.CostEstimator;
+import com.south.african.data.api.util.throttling.Throttling;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The interceptor charging requests by the work they do. Requests are admitted for a token by the
+ * {@link ThrottlingInterceptor} , once their query is parsed the rest of their estimated cost (see
+ * {@link CostEstimator}) is taken from the same bucket , and once answered the bucket is charged or refunded the
+ * difference with the cost of the records actually read. No request is charged more than the capacity of its tier , so
+ * any request can be served once the bucket of its client is full.
+ */
+@Component
+public class CostInterceptor implements HandlerInterceptor {
+
+    /**
+     * The request attribute holding the number of tokens a request has been charged.
+     */
+    private static final String CHARGED_KEY = "throttlingCharged";
+
+    /**
+     * Estimates the cost of requests.
+     */
+    @Autowired
+    private CostEstimator estimator;
+
+    /**
+     * The registry the request costs are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Rejects the requests whose cost exceeds the limits of their client.
+     */
+    @Autowired
+    private ThrottlingInterceptor throttlingInterceptor;
+
+    /**
+     * The request cost summaries , keyed by tier and kind of cost , so they are only built and registered once.
+     */
+    private final Map<String, DistributionSummary> costs = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler) throws Exception {
+
+        final Query query = (Query) request.getAttribute(Query.KEY);
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        if (query == null || req == null) {
+            return true;
+        }
+
+        final long estimate = estimator.tokens(estimator.estimateRecords(request.getServletPath(), query));
+        req.getMetrics().addCount("estimatedCost", (int) estimate);
+
+        final Throttling.Tier tier = (Throttling.Tier) request.getAttribute(Throttling.TIER_KEY);
+        final Bucket bucket = (Bucket) request.getAttribute(Throttling.BUCKET_KEY);
+        if (tier == null || bucket == null) {
+            return true;
+        }
+        record(tier, "estimated", estimate);
+
+        // The admission token has already been taken.
+        final long charge = Math.min(estimate, tier.capacity());
+        if (charge > 1) {
+            final ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(charge - 1);
+            ThrottlingInterceptor.setHeaders(response, tier, probe);
+            if (!probe.isConsumed()) {
+                // Nothing was read , so the admission token is given back.
+                bucket.addTokens(1);
+                throttlingInterceptor.reject(request, response, tier, probe, "cost");
+                return false;
+            }
+        }
+        request.setAttribute(CHARGED_KEY, charge);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler,
+            final Exception ex) {
+
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        if (req == null) {
+            return;
+        }
+
+        final long actual = estimator.tokens(req.getMetrics().countOf(Metrics.RECORDS));
+        req.getMetrics().addCount("actualCost", (int) actual);
+
+        final Throttling.Tier tier = (Throttling.Tier) request.getAttribute(Throttling.TIER_KEY);
+        final Bucket bucket = (Bucket) request.getAttribute(Throttling.BUCKET_KEY);
+        final Long charged = (Long) request.getAttribute(CHARGED_KEY);
+        if (tier == null || bucket == null || charged == null) {
+            return;
+        }
+        record(tier, "actual", actual);
+
+        final long difference = Math.min(actual, tier.capacity()) - charged;
+        if (difference > 0) {
+            bucket.consumeIgnoringRateLimits(difference);
+        } else if (difference < 0) {
+            bucket.addTokens(-difference);
+        }
+    }
+
+    private void record(final Throttling.Tier tier, final String kind, final long cost) {
+        costs.computeIfAbsent(tier.name() + ' ' + kind, key -> DistributionSummary.builder("throttling.request.cost")
+                        .tag("tier", tier.name())
+                        .tag("kind", kind)
+                        .description("Number of tokens requests cost , as estimated from their query and as read")
+                        .register(meterRegistry))
+                .record(cost);
+    }
+}
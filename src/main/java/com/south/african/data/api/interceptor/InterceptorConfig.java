@@ -11,6 +11,16 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurerAdapter
 @Component
 public class InterceptorConfig extends WebMvcConfigurerAdapter {
 
+    /**
+     * The paths of the resources , which are throttled and whose responses are cached and have entity tags.
+     */
+    private static final String[] RESOURCE_PATHS = {"/schools", "/schools/*", "/hospitals", "/hospitals/*"};
+
+    /**
+     * The paths of the exports , which are streamed and neither cached nor tagged.
+     */
+    private static final String[] EXPORT_PATHS = {"/schools/export", "/hospitals/export"};
+
     /**
      * Logging interceptor.
      */
@@ -23,17 +33,61 @@ public class InterceptorConfig extends WebMvcConfigurerAdapter {
     @Autowired
     private AuthInterceptor authInterceptor;
 
+    /**
+     * Throttling interceptor.
+     */
+    @Autowired
+    private ThrottlingInterceptor throttlingInterceptor;
+
+    /**
+     * Concurrency limit interceptor.
+     */
+    @Autowired
+    private ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    /**
+     * Cost interceptor.
+     */
+    @Autowired
+    private CostInterceptor costInterceptor;
+
     /**
      * Query interceptor.
      */
     @Autowired
     private QueryInterceptor queryInterceptor;
 
+    /**
+     * Conditional request interceptor.
+     */
+    @Autowired
+    private ConditionalRequestInterceptor conditionalRequestInterceptor;
+
+    /**
+     * Response cache interceptor.
+     */
+    @Autowired
+    private ResponseCacheInterceptor responseCacheInterceptor;
+
 
     @Override
     public void addInterceptors(final InterceptorRegistry registry) {
         registry.addInterceptor(loggingIntercepto);
         registry.addInterceptor(authInterceptor);
+        registry.addInterceptor(throttlingInterceptor)
+                .addPathPatterns(RESOURCE_PATHS);
+        // After throttling , so requests rejected for their client do not take a slot.
+        registry.addInterceptor(concurrencyLimitInterceptor)
+                .addPathPatterns(RESOURCE_PATHS);
         registry.addInterceptor(queryInterceptor);
+        registry.addInterceptor(conditionalRequestInterceptor)
+                .addPathPatterns(RESOURCE_PATHS)
+                .excludePathPatterns(EXPORT_PATHS);
+        registry.addInterceptor(responseCacheInterceptor)
+                .addPathPatterns(RESOURCE_PATHS)
+                .excludePathPatterns(EXPORT_PATHS);
+        // Last , so cached and not modified responses only cost their admission token.
+        registry.addInterceptor(costInterceptor)
+                .addPathPatterns(RESOURCE_PATHS);
     }
 }
@@ -1,6 +1,5 @@
 package com.south.african.data.api.interceptor;
 
-import com.south.african.data.api.util.encoding.Json;
 import com.south.african.data.api.util.request.Request;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
@@ -28,7 +27,7 @@ public class LoggingInterceptor implements HandlerInterceptor {
 
         final Request req = new Request();
         ThreadContext.put("requestId", req.getId());
-        log.info("Starting processing request : " + req.getId());
+        log.info("Starting processing request : {}", req.getId());
         request.setAttribute(Request.KEY, req);
 
         return true;
@@ -42,9 +41,15 @@ public class LoggingInterceptor implements HandlerInterceptor {
             final Exception ex) {
 
         final Request req = (Request) request.getAttribute(Request.KEY);
-        req.setEndTimeMillis(System.currentTimeMillis());
-        req.getMetrics().setLatencyMillis(req.getEndTimeMillis() - req.getStartTimeMillis());
-        ThreadContext.put("metrics", Json.string(req.getMetrics()));
-        log.info("Finished processing request : " + req.getId());
+        final long latencyMillis = req.elapsedMillis();
+        req.setEndTimeMillis(req.getStartTimeMillis() + latencyMillis);
+        req.getMetrics().setLatencyMillis(latencyMillis);
+        if (log.isInfoEnabled()) {
+            ThreadContext.put("metrics", req.getMetrics().toJson());
+            log.info("Finished processing request : {}", req.getId());
+        }
+        // Request threads are pooled , the context must not leak into whatever the thread serves next.
+        ThreadContext.remove("metrics");
+        ThreadContext.remove("requestId");
     }
 }
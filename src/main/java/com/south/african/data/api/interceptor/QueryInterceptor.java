@@ -2,6 +2,7 @@ package com.south.african.data.api.interceptor;
 
 import com.google.common.collect.ImmutableSet;
 import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.parameter.Fields;
 import com.south.african.data.api.util.query.parameter.MaxResults;
 import com.south.african.data.api.util.query.parameter.NextToken;
 import lombok.SneakyThrows;
@@ -34,7 +35,8 @@ public class QueryInterceptor implements HandlerInterceptor {
         final Map<String, ImmutableSet<String>> filters = Query.extractFilters(parameters);
         final MaxResults maxResults = new MaxResults(parameters);
         final NextToken nextToken = new NextToken(parameters);
-        final Query query = new Query(filters, maxResults, nextToken);
+        final Fields fields = new Fields(parameters);
+        final Query query = new Query(filters, maxResults, nextToken, fields);
         request.setAttribute(Query.KEY, query);
 
         return true;
@@ -0,0 +1,85 @@
+package com.south.african.data.api.interceptor;
+
+import com.south.african.data.api.util.cache.CachedResponse;
+import com.south.african.data.api.util.cache.DatasetVersion;
+import com.south.african.data.api.util.cache.ResponseCache;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.request.Request;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Enumeration;
+
+/**
+ * The interceptor for serving cached responses. Requests that hit the {@link ResponseCache} are answered here , without
+ * reaching the controllers , others are marked with their cache key so their response gets cached.
+ */
+@Component
+public class ResponseCacheInterceptor implements HandlerInterceptor {
+
+    /**
+     * The response cache.
+     */
+    @Autowired
+    private ResponseCache cache;
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler) throws Exception {
+
+        final Query query = (Query) request.getAttribute(Query.KEY);
+        if (!cache.isEnabled() || query == null || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+
+        final String key = ResponseCache.key(request, query);
+        final CachedResponse cached = cache.get(key);
+        if (cached == null) {
+            request.setAttribute(ResponseCache.KEY, key);
+            return true;
+        }
+
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        req.getMetrics().addCount("responseCacheHits", 1);
+
+        final byte[] body;
+        if (acceptsGzip(request)) {
+            body = cached.gzipBody(req.getId());
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        } else {
+            body = cached.body(req.getId());
+        }
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (request.getAttribute(DatasetVersion.KEY) != null) {
+            response.setHeader(HttpHeaders.ETAG, (String) request.getAttribute(DatasetVersion.KEY));
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    private static boolean acceptsGzip(final HttpServletRequest request) {
+        final Enumeration<String> headers = request.getHeaders(HttpHeaders.ACCEPT_ENCODING);
+        while (headers != null && headers.hasMoreElements()) {
+            for (final String coding : headers.nextElement().split(",")) {
+                final String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package com.south.african.data.api.interceptor;
+
+import com.south.african.data.api.util.request.Request;
+import com.south.african.data.api.util.throttling.Throttling;
+import com.south.african.data.api.util.throttling.ThrottlingProperties;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The interceptor for rate limiting clients , see {@link Throttling}. Requests over the limits of their client are
+ * answered with 429 Too Many Requests here , before their query is parsed. Every response carries the X-RateLimit-*
+ * headers of the client.
+ */
+@Component
+public class ThrottlingInterceptor implements HandlerInterceptor {
+
+    /**
+     * The header with the number of requests a client can make in a burst.
+     */
+    public static final String LIMIT_HEADER = "X-RateLimit-Limit";
+
+    /**
+     * The header with the number of requests a client can make right now.
+     */
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    /**
+     * The header with the number of seconds until the limits of a client are fully refilled.
+     */
+    public static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    /**
+     * The rate limits of each client.
+     */
+    @Autowired
+    private Throttling throttling;
+
+    /**
+     * The throttling configuration.
+     */
+    @Autowired
+    private ThrottlingProperties properties;
+
+    /**
+     * The registry the throttling metrics are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * The rejection counters , keyed by tier and reason , so they are only built and registered once.
+     */
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the number of client buckets held.
+     */
+    @PostConstruct
+    public void init() {
+        Gauge.builder("throttling.clients", throttling, Throttling::size)
+                .description("Number of client buckets held")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Object handler) throws Exception {
+
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        final Throttling.Tier tier = throttling.tier(request.getServletPath());
+        final Bucket bucket = throttling.bucket(
+                tier, throttling.client(request.getHeader(properties.getClientHeader()), request.getRemoteAddr()));
+        final ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(1);
+        setHeaders(response, tier, probe);
+        if (probe.isConsumed()) {
+            request.setAttribute(Throttling.TIER_KEY, tier);
+            request.setAttribute(Throttling.BUCKET_KEY, bucket);
+            return true;
+        }
+
+        reject(request, response, tier, probe, "rate");
+        return false;
+    }
+
+    /**
+     * Sets the X-RateLimit-* headers.
+     * @param response The servlet response.
+     * @param tier     The tier of the request.
+     * @param probe    The result of taking tokens from the bucket of the client.
+     */
+    static void setHeaders(final HttpServletResponse response, final Throttling.Tier tier, final ConsumptionProbe probe) {
+        response.setHeader(LIMIT_HEADER, String.valueOf(tier.capacity()));
+        response.setHeader(REMAINING_HEADER, String.valueOf(probe.getRemainingTokens()));
+        response.setHeader(RESET_HEADER, String.valueOf(seconds(probe.getNanosToWaitForReset())));
+    }
+
+    /**
+     * Answers a request with 429 Too Many Requests , telling the client when to retry.
+     * @param request  The servlet request.
+     * @param response The servlet response.
+     * @param tier     The tier of the request.
+     * @param probe    The result of taking tokens from the bucket of the client , which were not taken.
+     * @param reason   Why the request is rejected i.e rate for too many requests or cost for too much work.
+     */
+    void reject(
+            final HttpServletRequest request,
+            final HttpServletResponse response,
+            final Throttling.Tier tier,
+            final ConsumptionProbe probe,
+            final String reason) {
+
+        final Request req = (Request) request.getAttribute(Request.KEY);
+        if (req != null) {
+            req.getMetrics().addCount("throttled", 1);
+        }
+        rejections.computeIfAbsent(tier.name() + ' ' + reason, key -> Counter.builder("throttling.rejections")
+                        .tag("tier", tier.name())
+                        .tag("reason", reason)
+                        .description("Number of requests rejected for exceeding the limits of their client")
+                        .register(meterRegistry))
+                .increment();
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(seconds(probe.getNanosToWaitForRefill())));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+    }
+
+    private static long seconds(final long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
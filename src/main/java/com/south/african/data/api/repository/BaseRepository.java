@@ -2,29 +2,127 @@ package com.south.african.data.api.repository;
 
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.south.african.data.api.repository.model.Page;
+import com.south.african.data.api.repository.snapshot.KeyIndexStore;
+import com.south.african.data.api.repository.snapshot.Snapshot;
+import com.south.african.data.api.repository.snapshot.SnapshotStore;
+import com.south.african.data.api.repository.util.Projection;
 import com.south.african.data.api.repository.util.QueryBuilder;
 import com.south.african.data.api.util.encoding.Pagination;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.jpa.QueryHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
 import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceUnit;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
+import javax.persistence.metamodel.EntityType;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
- * Base repository for read operations.
+ * Base repository for read operations. Reads are served from the {@link SnapshotStore} when a snapshot of the entity is
+ * loaded , and from the datastore otherwise.
  */
 @Repository
 @SuppressWarnings("checkstyle:javadocvariable")
 public class BaseRepository {
+
+    /**
+     * The query cache region of the page queries , see application.conf.
+     */
+    public static final String PAGE_QUERY_REGION = "page-queries";
+
+    /**
+     * The query cache region of the natural key lookups , see application.conf.
+     */
+    public static final String LOOKUP_QUERY_REGION = "lookup-queries";
+
     @PersistenceContext
     private EntityManager entityManager;
 
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SnapshotStore snapshots;
+
+    @Autowired
+    private KeyIndexStore keyIndexes;
+
+    @Autowired
+    private LayerMetrics layerMetrics;
+
+    @Value("${data.api.batch-get.chunk-size:512}")
+    private int batchChunkSize;
+
+    @Value("${data.api.batch-get.parallelism:4}")
+    private int batchParallelism;
+
+    /**
+     * The number of records of each entity , keyed by entity name.
+     */
+    private final Map<String, Long> counts = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the chunks of batch lookups , bounded so a batch cannot take every datastore connection.
+     */
+    private ExecutorService batchExecutor;
+
+    /**
+     * Creates the executor for batch lookups.
+     */
+    @PostConstruct
+    public void init() {
+        batchExecutor = Executors.newFixedThreadPool(batchParallelism, new ThreadFactoryBuilder()
+                .setNameFormat("batch-get-%d")
+                .setDaemon(true)
+                .build());
+    }
+
+    /**
+     * Stops the executor for batch lookups.
+     */
+    @PreDestroy
+    public void shutdown() {
+        batchExecutor.shutdownNow();
+    }
+
     /**
      * Retrieves all records from a given entity table.
      * @param clazz      The class for the return type.
@@ -33,15 +131,190 @@ public class BaseRepository {
      * @param <T>
      */
     public <T> ArrayList<T> getAll(final Class<T> clazz, final String entity) {
-        final TypedQuery<T> query = entityManager.createQuery(
-                QueryBuilder.getAll(entity), clazz);
-        return query.getResultStream().collect(Collectors.toCollection(ArrayList::new));
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getAll(ImmutableList.of());
+        }
+
+        return list(clazz, QueryBuilder.getAll(entity), ImmutableList.of(), null);
+    }
+
+    /**
+     * Counts the records of a given entity table. The datasets do not change while running , so each entity is only
+     * counted once.
+     * @param clazz  The entity class.
+     * @param entity The entity name i.e Table name to count the records of.
+     * @return The number of records.
+     */
+    public long count(final Class<?> clazz, final String entity) {
+        final Long cached = counts.get(entity);
+        if (cached != null) {
+            return cached;
+        }
+
+        final long count = snapshots.get(clazz)
+                .map(snapshot -> (long) snapshot.size())
+                .orElseGet(() -> entityManager.createQuery(QueryBuilder.count(entity), Long.class).getSingleResult());
+        counts.put(entity, count);
+        return count;
+    }
+
+    /**
+     * Retrieves all records from a given entity table that satisfy the given filters. The filters are compiled into
+     * predicates that are evaluated by the datastore, so only matching records are loaded. Without a snapshot the records
+     * are read through a stateless session , so they are neither tracked nor cached , and only the columns of the given
+     * fields are selected.
+     * @param clazz      The class for the return type.
+     * @param entity     The entity name i.e Table name to run a select all query.
+     * @param filters    The filters represented as a map i.e (name -> values association).
+     * @param fields     The attributes to read , every attribute if empty. The others are null in the records read from
+     *                   the datastore , records read from a snapshot have every attribute.
+     * @return All the records from the given entity table that satisfy the filters.
+     * @param <T>
+     */
+    public <T> ArrayList<T> getAll(
+            final Class<T> clazz,
+            final String entity,
+            final Map<String, ImmutableSet<String>> filters,
+            final Set<String> fields) {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(clazz, filters);
+        if (predicates.stream().anyMatch(FilterPredicate::isUnsatisfiable)) {
+            return new ArrayList<>();
+        }
+
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            final long start = System.nanoTime();
+            final ArrayList<T> records = snapshot.get().getAll(predicates);
+            if (!predicates.isEmpty()) {
+                layerMetrics.recordFilter("snapshot", System.nanoTime() - start, snapshot.get().size(), records.size());
+            }
+            return records;
+        }
+
+        return list(clazz, QueryBuilder.getAllWithFilters(entity, predicates), predicates, Projection.of(clazz, fields));
+    }
+
+    /**
+     * Runs the given query through a stateless session. Bulk reads load every record once and never look them up again ,
+     * so there is no point in a persistence context or the second level cache holding them.
+     * @param clazz      The class for the return type.
+     * @param jpql       The query.
+     * @param predicates The filter predicates whose values are bound to the query.
+     * @param projection The attributes to select , null for the whole entity.
+     * @return The records.
+     * @param <T>
+     */
+    private <T> ArrayList<T> list(
+            final Class<T> clazz,
+            final String jpql,
+            final List<FilterPredicate> predicates,
+            final Projection<T> projection) {
+
+        try (final StatelessSession session = sessionFactory().openStatelessSession()) {
+            final org.hibernate.query.Query<?> query = projection == null
+                    ? session.createQuery(jpql, clazz)
+                    : session.createQuery(QueryBuilder.project(jpql, projection.attributes()));
+            bindFilters(query, predicates);
+            return records(query.list(), clazz, projection);
+        }
+    }
+
+    /**
+     * Converts the rows of a query to records.
+     * @param rows       The rows , entities or the selected values of a projection.
+     * @param clazz      The class for the return type.
+     * @param projection The projection the rows were selected with , null if the rows are entities.
+     * @return The records.
+     * @param <T>
+     */
+    private static <T> ArrayList<T> records(final List<?> rows, final Class<T> clazz, final Projection<T> projection) {
+        final ArrayList<T> records = new ArrayList<>(rows.size());
+        for (final Object row : rows) {
+            records.add(projection == null ? clazz.cast(row) : projection.instance(row));
+        }
+        return records;
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Streams all records from a given entity table that satisfy the given filters , without loading them all in memory.
+     * Records are read through a forward only cursor of a stateless session , fetchSize at a time , so nothing holds on
+     * to them once streamed. The stream holds a datastore connection and has to be closed.
+     * @param clazz      The class for the return type.
+     * @param entity     The entity name i.e Table name to run a select all query.
+     * @param filters    The filters represented as a map i.e (name -> values association).
+     * @param fields     The attributes to read from the datastore , every attribute if empty.
+     * @param fetchSize  The number of records to fetch from the datastore at a time.
+     * @return A stream of the records from the given entity table that satisfy the filters.
+     * @param <T>
+     */
+    public <T> Stream<T> stream(
+            final Class<T> clazz,
+            final String entity,
+            final Map<String, ImmutableSet<String>> filters,
+            final Set<String> fields,
+            final int fetchSize) {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(clazz, filters);
+        if (predicates.stream().anyMatch(FilterPredicate::isUnsatisfiable)) {
+            return Stream.empty();
+        }
+
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            return snapshot.get().stream(predicates);
+        }
+
+        // A dedicated session , so the cursor stays open while the stream is consumed.
+        final Projection<T> projection = Projection.of(clazz, fields);
+        final String jpql = QueryBuilder.getAllWithFilters(entity, predicates);
+        final StatelessSession session = sessionFactory().openStatelessSession();
+        try {
+            final org.hibernate.query.Query<?> query = projection == null
+                    ? session.createQuery(jpql, clazz)
+                    : session.createQuery(QueryBuilder.project(jpql, projection.attributes()));
+            bindFilters(query, predicates);
+            final ScrollableResults results = query
+                    .setFetchSize(fetchSize)
+                    .scroll(ScrollMode.FORWARD_ONLY);
+
+            return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(final Consumer<? super T> action) {
+                    if (!results.next()) {
+                        return false;
+                    }
+                    action.accept(projection == null ? clazz.cast(results.get(0)) : projection.instance(results.get()));
+                    return true;
+                }
+            }, false).onClose(() -> {
+                results.close();
+                session.close();
+            });
+        } catch (final RuntimeException e) {
+            session.close();
+            throw e;
+        }
+    }
+
+    private static void bindFilters(final Query query, final List<FilterPredicate> predicates) {
+        for (int i = 0; i < predicates.size(); i++) {
+            if (!predicates.get(i).getValues().isEmpty()) {
+                query.setParameter(QueryBuilder.filterParameter(i), predicates.get(i).getValues());
+            }
+        }
     }
 
 
     /**
      * This should be used to retrieve a single record which can be uniquely identified by given column value. Otherwise
-     * if multiple match the behavior is undefined.
+     * if multiple match the behavior is undefined. With a snapshot loaded , unique integral columns are looked up in
+     * its key index , otherwise indexed natural keys are looked up in the {@link KeyIndexStore}.
      * @param clazz      The class for the return type.
      * @param entity     The entity name i.e Table name to run a select all qu
      * @param id         The unique identifier for the column.
@@ -57,22 +330,40 @@ public class BaseRepository {
             final ID id,
             final String idColumn) {
 
-        // TODO validate the id column is a unique column.
-        final TypedQuery<T> query = entityManager.createQuery(
-                QueryBuilder.getById(entity, idColumn, id.toString()), clazz);
-
-        final T result = query.getSingleResult();
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getById(idColumn, id);
+        }
 
-        if (result == null) {
+        final Object value = attributeValue(clazz, idColumn, id);
+        if (value == null) {
             return Optional.empty();
         }
 
-        return Optional.of(result);
+        // Identifier lookups go through the persistence context and the second level cache , natural keys through a
+        // parameterized query whose result is held in the query cache.
+        if (isIdAttribute(clazz, idColumn)) {
+            return Optional.ofNullable(entityManager.find(clazz, value));
+        } else if (keyIndexes.indexes(clazz, idColumn)) {
+            final Object identifier = keyIndexes.id(clazz, idColumn, value);
+            return identifier == null ? Optional.empty() : Optional.ofNullable(entityManager.find(clazz, identifier));
+        }
+
+        // TODO validate the id column is a unique column.
+        return entityManager.createQuery(QueryBuilder.getById(entity, idColumn), clazz)
+                .setParameter(QueryBuilder.ID_PARAMETER, value)
+                .setMaxResults(1)
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .setHint(QueryHints.HINT_CACHE_REGION, LOOKUP_QUERY_REGION)
+                .getResultList()
+                .stream()
+                .findFirst();
     }
 
 
     /**
-     * This should be used to retrieve multiple records by their ids.
+     * This should be used to retrieve multiple records by their ids. Indexed natural keys are translated to identifiers
+     * through the {@link KeyIndexStore} , so the records are read by primary key.
      * @param clazz      The class for the return type.
      * @param entity The entity name i.e Table name to run a select all qu
      * @param ids        The unique identifiers for the column to retrieve.
@@ -88,19 +379,129 @@ public class BaseRepository {
             final String idColumn,
             final Set<ID> ids) {
 
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            return snapshot.get().getByIds(idColumn, ids);
+        }
+
+        final boolean indexed = keyIndexes.indexes(clazz, idColumn);
+        final List<Object> values = new ArrayList<>(ids.size());
+        for (final ID id : ids) {
+            final Object value = attributeValue(clazz, idColumn, id);
+            final Object lookup = indexed && value != null ? keyIndexes.id(clazz, idColumn, value) : value;
+            if (lookup != null) {
+                values.add(lookup);
+            }
+        }
+        if (values.isEmpty()) {
+            return new ArrayList<>();
+        }
+
         // TODO validate the id column is a unique column.
-        final Set<String> queryIds =  ids.stream()
-                .map(Object::toString)
-                .collect(Collectors.toSet());
+        final String column = indexed ? idAttribute(clazz) : idColumn;
+        final TypedQuery<T> query = entityManager.createQuery(QueryBuilder.getByIds(entity, column), clazz)
+                .setParameter(QueryBuilder.IDS_PARAMETER, values);
+
+        // A list rather than a stream , since batch lookups run this off the request thread and an unclosed stream
+        // would hold the connection of its entity manager.
+        return new ArrayList<>(query.getResultList());
+    }
+
+    /**
+     * Retrieves the records with the given ids , for looking up many ids at once. Ids are looked up in the snapshot when
+     * loaded , otherwise the distinct ids are split into chunks of data.api.batch-get.chunk-size ids which are queried
+     * in parallel.
+     * @param clazz       The class for the return type.
+     * @param entity      The entity name i.e Table name to run the query on.
+     * @param idColumn    Column to check for values in.
+     * @param ids         The unique identifiers for the column to retrieve , as requested.
+     * @param idExtractor Extracts the id column value from a record.
+     * @return The records keyed by requested id , ids without a record are absent.
+     * @param <T>
+     */
+    public <T> Map<String, T> getByIds(
+            final Class<T> clazz,
+            final String entity,
+            final String idColumn,
+            final List<String> ids,
+            final Function<T, ?> idExtractor) {
+
+        final Map<String, Object> values = new LinkedHashMap<>();
+        for (final String id : ids) {
+            final Object value = attributeValue(clazz, idColumn, id);
+            if (value != null) {
+                values.put(id, value);
+            }
+        }
+        final Set<Object> distinct = new LinkedHashSet<>(values.values());
+
+        final List<T> records = new ArrayList<>(distinct.size());
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent()) {
+            records.addAll(snapshot.get().getByIds(idColumn, distinct));
+        } else if (distinct.size() <= batchChunkSize) {
+            records.addAll(getByIds(clazz, entity, idColumn, distinct));
+        } else {
+            final List<Future<ArrayList<T>>> chunks = new ArrayList<>();
+            for (final List<Object> chunk : Iterables.partition(distinct, batchChunkSize)) {
+                final Set<Object> chunkIds = new LinkedHashSet<>(chunk);
+                chunks.add(batchExecutor.submit(() -> getByIds(clazz, entity, idColumn, chunkIds)));
+            }
+            for (final Future<ArrayList<T>> chunk : chunks) {
+                records.addAll(await(chunk));
+            }
+        }
+
+        final Map<Object, T> byValue = new HashMap<>();
+        for (final T record : records) {
+            byValue.put(idExtractor.apply(record), record);
+        }
 
-        final TypedQuery<T> query = entityManager.createQuery(
-                        QueryBuilder.getByIds(
-                                entity,
-                                idColumn,
-                                queryIds),
-                        clazz);
+        final Map<String, T> found = new LinkedHashMap<>();
+        values.forEach((id, value) -> {
+            final T record = byValue.get(value);
+            if (record != null) {
+                found.put(id, record);
+            }
+        });
+        return found;
+    }
 
-        return query.getResultStream().collect(Collectors.toCollection(ArrayList::new));
+    private static <T> T await(final Future<T> future) {
+        try {
+            return future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a batch lookup", e);
+        } catch (final ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException("Batch lookup failed", e.getCause());
+        }
+    }
+
+    /**
+     * Converts the given value to the type of the attribute , so it can be bound to a statement parameter for it.
+     * @param clazz     The entity class.
+     * @param attribute The attribute.
+     * @param value     The value.
+     * @return The value in the attribute type , null if no attribute value can be equal to it i.e "abc" for a Long.
+     */
+    private Object attributeValue(final Class<?> clazz, final String attribute, final Object value) {
+        final Class<?> type = entityManager.getMetamodel().entity(clazz).getAttribute(attribute).getJavaType();
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        return FilterPredicate.convert(type, value.toString());
+    }
+
+    private boolean isIdAttribute(final Class<?> clazz, final String attribute) {
+        final EntityType<?> type = entityManager.getMetamodel().entity(clazz);
+        return type.hasSingleIdAttribute() && idAttribute(clazz).equals(attribute);
+    }
+
+    private String idAttribute(final Class<?> clazz) {
+        final EntityType<?> type = entityManager.getMetamodel().entity(clazz);
+        return type.getId(type.getIdType().getJavaType()).getName();
     }
 
     @SuppressWarnings("checkstyle:missingjavadocmethod")
@@ -111,22 +512,79 @@ public class BaseRepository {
             final String cursorColumn,
             final int maxResults,
             final Function<T, ID> cursorExtractor) throws JsonProcessingException {
+        return getPage(clazz, entity, previousCursor, cursorColumn, maxResults, cursorExtractor,
+                ImmutableMap.of(), ImmutableSet.of());
+    }
+
+    /**
+     * Retrieves a page of records sorted by the cursor column, from the records that satisfy the given filters. The
+     * filters are part of the page query so a page is only short when there are no more matching records, and the
+     * token for the next page is tied to the filters. Pages read from the datastore only select the columns of the given
+     * fields and the cursor column.
+     * @param clazz            The class for the return type.
+     * @param entity           The entity name i.e Table name to run the query on.
+     * @param previousCursor   The cursor of the last record of the previous page , null for the first page.
+     * @param cursorColumn     The unique column the records are sorted and paginated by.
+     * @param maxResults       The maximum number of records in the page.
+     * @param cursorExtractor  Extracts the cursor from a record.
+     * @param filters          The filters represented as a map i.e (name -> values association).
+     * @param fields           The attributes to read from the datastore , every attribute if empty.
+     * @return The page of records and the token for the next page , if there are more records.
+     * @param <T>
+     * @param <ID>
+     */
+    public <T, ID> Page<T> getPage(
+            final Class<T> clazz,
+            final String entity,
+            final ID previousCursor,
+            final String cursorColumn,
+            final int maxResults,
+            final Function<T, ID> cursorExtractor,
+            final Map<String, ImmutableSet<String>> filters,
+            final Set<String> fields) throws JsonProcessingException {
 
         // TODO some validation
-        final TypedQuery<T> query;
+        final List<FilterPredicate> predicates = FilterPredicate.compile(clazz, filters);
+        if (predicates.stream().anyMatch(FilterPredicate::isUnsatisfiable)) {
+            return new Page<>(new ArrayList<>(), null);
+        }
 
-        if (previousCursor == null) {
-            query = entityManager.createQuery(
-                    QueryBuilder.getAllSortedById(entity, cursorColumn), clazz)
-                    .setMaxResults(maxResults + 1);
+        final Optional<Snapshot<T>> snapshot = snapshots.get(clazz);
+        if (snapshot.isPresent() && snapshot.get().supportsCursor(cursorColumn)) {
+            final List<T> rows = snapshot.get().getAfter(cursorColumn, previousCursor, maxResults + 1, predicates);
+            return toPage(rows.iterator(), entity, maxResults, cursorExtractor, filters);
+        }
 
-        } else {
-            query = entityManager.createQuery(
-                    QueryBuilder.getAllAfterIdSortedById(entity, previousCursor.toString(), cursorColumn), clazz)
-                    .setMaxResults(maxResults + 1);
+        final Projection<T> projection = Projection.of(clazz, fields, cursorColumn);
+        final String jpql = previousCursor == null
+                ? QueryBuilder.getAllWithFiltersSortedById(entity, cursorColumn, predicates)
+                : QueryBuilder.getAllAfterIdWithFiltersSortedById(entity, cursorColumn, predicates);
+        final Query query = projection == null
+                ? entityManager.createQuery(jpql, clazz)
+                : entityManager.createQuery(QueryBuilder.project(jpql, projection.attributes()));
+
+        if (previousCursor != null) {
+            query.setParameter(QueryBuilder.CURSOR_PARAMETER, attributeValue(clazz, cursorColumn, previousCursor));
         }
+        query.setMaxResults(maxResults + 1);
+        bindFilters(query, predicates);
+
+        // Read as a list , query results are only cached for lists.
+        final List<?> rows = query
+                .setHint(QueryHints.HINT_CACHEABLE, true)
+                .setHint(QueryHints.HINT_CACHE_REGION, PAGE_QUERY_REGION)
+                .getResultList();
+        final List<T> records = records(rows, clazz, projection);
+        return toPage(records.iterator(), entity, maxResults, cursorExtractor, filters);
+    }
+
+    private static <T, ID> Page<T> toPage(
+            final Iterator<T> iterator,
+            final String entity,
+            final int maxResults,
+            final Function<T, ID> cursorExtractor,
+            final Map<String, ImmutableSet<String>> filters) throws JsonProcessingException {
 
-        final Iterator<T> iterator = query.getResultStream().iterator();
         final ArrayList<T> data = new ArrayList<>(maxResults);
 
         while (iterator.hasNext()) {
@@ -135,7 +593,7 @@ public class BaseRepository {
                 data.add(thing);
             } else if (data.size() == maxResults) {
                 final String cursor = cursorExtractor.apply(data.get(data.size() - 1)).toString();
-                final String token = Pagination.createToken(cursor, entity);
+                final String token = Pagination.createToken(cursor, entity, filters);
                 return new Page<>(data, token);
             }
         }
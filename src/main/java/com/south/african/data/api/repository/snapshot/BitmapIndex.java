@@ -0,0 +1,98 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inverted index over a {@link Column} , holding a compressed bitmap of the rows for each distinct value of the
+ * column. A filter predicate is evaluated as the union of the bitmaps of its allowed values , so a query over several
+ * filterable attributes is a handful of bitmap operations regardless of the number of rows.
+ */
+final class BitmapIndex {
+
+    /**
+     * The rows for each distinct non null value.
+     */
+    private final ImmutableMap<Object, RoaringBitmap> rows;
+
+    /**
+     * The rows with a null value.
+     */
+    private final RoaringBitmap nulls;
+
+    private BitmapIndex(final ImmutableMap<Object, RoaringBitmap> rows, final RoaringBitmap nulls) {
+        this.rows = rows;
+        this.nulls = nulls;
+    }
+
+    /**
+     * Builds the index of the given column , unless it has too many distinct values for a bitmap per value to pay off.
+     * @param column         The column to index.
+     * @param size           The number of rows in the column.
+     * @param maxCardinality The maximum number of distinct non null values.
+     * @return The index of the column , null if the column has more distinct values.
+     */
+    static BitmapIndex of(final Column column, final int size, final int maxCardinality) {
+        final Map<Object, RoaringBitmap> rows = new HashMap<>();
+        final RoaringBitmap nulls = new RoaringBitmap();
+        for (int row = 0; row < size; row++) {
+            final Object value = column.get(row);
+            if (value == null) {
+                nulls.add(row);
+            } else {
+                rows.computeIfAbsent(value, key -> new RoaringBitmap()).add(row);
+                if (rows.size() > maxCardinality) {
+                    return null;
+                }
+            }
+        }
+
+        rows.values().forEach(RoaringBitmap::runOptimize);
+        nulls.runOptimize();
+        return new BitmapIndex(ImmutableMap.copyOf(rows), nulls);
+    }
+
+    /**
+     * Retrieves the rows whose value satisfies the given predicate.
+     * @param predicate A predicate for the attribute of the indexed column.
+     * @return The matching rows , which the caller is free to modify.
+     */
+    RoaringBitmap select(final FilterPredicate predicate) {
+        final List<RoaringBitmap> selected = new ArrayList<>(predicate.getValues().size() + 1);
+        for (final Object value : predicate.getValues()) {
+            final RoaringBitmap valueRows = rows.get(value);
+            if (valueRows != null) {
+                selected.add(valueRows);
+            }
+        }
+        if (predicate.isMatchesNull()) {
+            selected.add(nulls);
+        }
+
+        if (selected.isEmpty()) {
+            return new RoaringBitmap();
+        } else if (selected.size() == 1) {
+            return selected.get(0).clone();
+        }
+        return FastAggregation.or(selected.iterator());
+    }
+
+    /**
+     * The approximate size of the bitmaps in the index.
+     * @return The size of the bitmaps in bytes.
+     */
+    long sizeInBytes() {
+        long bytes = nulls.getLongSizeInBytes();
+        for (final RoaringBitmap bitmap : rows.values()) {
+            bytes += bitmap.getLongSizeInBytes();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,46 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.south.african.data.api.util.filter.FilterPredicate;
+
+import java.util.function.IntPredicate;
+
+/**
+ * A column of a {@link Snapshot} , i.e the values of a single entity attribute for every row of the snapshot.
+ */
+interface Column {
+
+    /**
+     * The type of the attribute the column holds values for.
+     * @return The attribute type.
+     */
+    Class<?> type();
+
+    /**
+     * Retrieves the value of the column for the given row.
+     * @param row The row ordinal.
+     * @return The value in the attribute type , which may be null.
+     */
+    Object get(int row);
+
+    /**
+     * Creates a matcher for rows whose value satisfies the given predicate.
+     * @param predicate A predicate for the attribute of the column.
+     * @return A matcher that takes a row ordinal and returns true if the value of the row satisfies the predicate.
+     */
+    IntPredicate matcher(FilterPredicate predicate);
+
+    /**
+     * Creates a column from the given values , using the most compact representation for the type.
+     * @param type   The attribute type.
+     * @param values The value for each row.
+     * @return A column holding the values.
+     */
+    static Column of(final Class<?> type, final Object[] values) {
+        if (type == String.class) {
+            return DictionaryColumn.of(values);
+        } else if (LongColumn.supports(type)) {
+            return LongColumn.of(type, values);
+        }
+        return new ObjectColumn(type, values);
+    }
+}
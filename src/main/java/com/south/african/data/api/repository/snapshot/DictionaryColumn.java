@@ -0,0 +1,128 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.south.african.data.api.util.filter.FilterPredicate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * A dictionary encoded string column. Each distinct value is stored once in a dictionary and rows hold the code of
+ * their value , packed into bytes or shorts when the dictionary is small enough. Most filterable string attributes
+ * (province, sector, phase etc) have a handful of distinct values so a row costs a byte for them.
+ */
+final class DictionaryColumn implements Column {
+
+    /**
+     * The code for null values.
+     */
+    static final int NULL_CODE = 0;
+
+    /**
+     * The distinct values , indexed by code. The value for {@link DictionaryColumn#NULL_CODE} is null.
+     */
+    private final String[] dictionary;
+
+    /**
+     * The codes when the dictionary has at most 256 values.
+     */
+    private final byte[] byteCodes;
+
+    /**
+     * The codes when the dictionary has at most 65536 values.
+     */
+    private final short[] shortCodes;
+
+    /**
+     * The codes otherwise.
+     */
+    private final int[] intCodes;
+
+    private DictionaryColumn(
+            final String[] dictionary,
+            final byte[] byteCodes,
+            final short[] shortCodes,
+            final int[] intCodes) {
+        this.dictionary = dictionary;
+        this.byteCodes = byteCodes;
+        this.shortCodes = shortCodes;
+        this.intCodes = intCodes;
+    }
+
+    static DictionaryColumn of(final Object[] values) {
+        final Map<String, Integer> codes = new LinkedHashMap<>();
+        codes.put(null, NULL_CODE);
+        final int[] rowCodes = new int[values.length];
+        for (int row = 0; row < values.length; row++) {
+            rowCodes[row] = codes.computeIfAbsent((String) values[row], value -> codes.size());
+        }
+
+        final String[] dictionary = codes.keySet().toArray(new String[0]);
+        if (dictionary.length <= 1 << Byte.SIZE) {
+            final byte[] byteCodes = new byte[values.length];
+            for (int row = 0; row < values.length; row++) {
+                byteCodes[row] = (byte) rowCodes[row];
+            }
+            return new DictionaryColumn(dictionary, byteCodes, null, null);
+        } else if (dictionary.length <= 1 << Short.SIZE) {
+            final short[] shortCodes = new short[values.length];
+            for (int row = 0; row < values.length; row++) {
+                shortCodes[row] = (short) rowCodes[row];
+            }
+            return new DictionaryColumn(dictionary, null, shortCodes, null);
+        }
+        return new DictionaryColumn(dictionary, null, null, rowCodes);
+    }
+
+    @Override
+    public Class<?> type() {
+        return String.class;
+    }
+
+    @Override
+    public Object get(final int row) {
+        return dictionary[code(row)];
+    }
+
+    @Override
+    public IntPredicate matcher(final FilterPredicate predicate) {
+        final boolean[] allowed = allowedCodes(predicate);
+        return row -> allowed[code(row)];
+    }
+
+    /**
+     * The number of distinct values in the column , including null.
+     * @return The size of the dictionary.
+     */
+    int cardinality() {
+        return dictionary.length;
+    }
+
+    /**
+     * Retrieves the code of the given row.
+     * @param row The row ordinal.
+     * @return The dictionary code of the row's value.
+     */
+    int code(final int row) {
+        if (byteCodes != null) {
+            return byteCodes[row] & 0xFF;
+        } else if (shortCodes != null) {
+            return shortCodes[row] & 0xFFFF;
+        }
+        return intCodes[row];
+    }
+
+    /**
+     * Marks the codes of values that satisfy the given predicate.
+     * @param predicate A predicate for the attribute of the column.
+     * @return Whether each code satisfies the predicate , indexed by code.
+     */
+    boolean[] allowedCodes(final FilterPredicate predicate) {
+        final boolean[] allowed = new boolean[dictionary.length];
+        allowed[NULL_CODE] = predicate.isMatchesNull();
+        for (int code = NULL_CODE + 1; code < dictionary.length; code++) {
+            allowed[code] = predicate.getValues().contains(dictionary[code]);
+        }
+        return allowed;
+    }
+}
@@ -0,0 +1,108 @@
+package com.south.african.data.api.repository.snapshot;
+
+import java.util.Arrays;
+
+/**
+ * A hash index from the values of a unique integral column to their row ordinal , for point lookups. Keys and rows are
+ * held in primitive arrays with open addressing and linear probing , so a lookup neither boxes the key nor follows
+ * references , and the table is kept at most half full so probe sequences stay short.
+ */
+final class KeyIndex {
+
+    /**
+     * The row of an empty slot.
+     */
+    static final int NO_ROW = -1;
+
+    /**
+     * The 64 bit golden ratio , used to spread keys over the table.
+     */
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The key of each slot.
+     */
+    private final long[] keys;
+
+    /**
+     * The row of each slot , {@link KeyIndex#NO_ROW} for empty slots.
+     */
+    private final int[] rows;
+
+    /**
+     * The mask for slot positions , the table length being a power of two.
+     */
+    private final int mask;
+
+    private KeyIndex(final long[] keys, final int[] rows) {
+        this.keys = keys;
+        this.rows = rows;
+        this.mask = keys.length - 1;
+    }
+
+    /**
+     * Creates the key index of the given column.
+     * @param column The column.
+     * @param size   The number of rows.
+     * @return The index , null if the column has null or duplicate values i.e it is not a key.
+     */
+    static KeyIndex of(final LongColumn column, final int size) {
+        final int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+        final long[] keys = new long[capacity];
+        final int[] rows = new int[capacity];
+        Arrays.fill(rows, NO_ROW);
+
+        final KeyIndex index = new KeyIndex(keys, rows);
+        for (int row = 0; row < size; row++) {
+            if (column.isNull(row)) {
+                return null;
+            }
+
+            final long key = column.getLong(row);
+            int slot = index.slot(key);
+            while (rows[slot] != NO_ROW) {
+                if (keys[slot] == key) {
+                    return null;
+                }
+                slot = (slot + 1) & index.mask;
+            }
+            keys[slot] = key;
+            rows[slot] = row;
+        }
+        return index;
+    }
+
+    /**
+     * Looks up the row with the given key.
+     * @param key The key.
+     * @return The row ordinal , {@link KeyIndex#NO_ROW} if no row has the key.
+     */
+    int row(final long key) {
+        int slot = slot(key);
+        while (rows[slot] != NO_ROW) {
+            if (keys[slot] == key) {
+                return rows[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_ROW;
+    }
+
+    /**
+     * The size of the index.
+     * @return The approximate size of the index in bytes.
+     */
+    long sizeInBytes() {
+        return (long) keys.length * (Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * The slot the probe sequence of a key starts at.
+     * @param key The key.
+     * @return The slot position.
+     */
+    int slot(final long key) {
+        final long hash = key * GOLDEN_RATIO;
+        return (int) (hash ^ (hash >>> Integer.SIZE)) & mask;
+    }
+}
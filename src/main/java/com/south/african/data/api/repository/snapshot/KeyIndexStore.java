@@ -0,0 +1,165 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.repository.util.QueryBuilder;
+import com.south.african.data.api.util.filter.FilterMetadata;
+import com.south.african.data.api.util.filter.FilterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import java.util.List;
+
+/**
+ * Holds a {@link KeyIndex} from each unique , indexed , integral natural key (see
+ * {@link com.south.african.data.api.util.filter.Filter#indexed()}) to the identifier of its entity , such as
+ * School.schoolId to School.id , when enabled (data.api.key-index.enabled). Looking an entity up by its natural key is
+ * then a hash probe followed by a lookup by identifier , which the second level cache answers , instead of a query.
+ * The indexes are independent of the {@link SnapshotStore} , which indexes the rows of its snapshots itself.
+ */
+@Slf4j
+@Component
+public class KeyIndexStore {
+
+    /**
+     * Whether natural keys are indexed.
+     */
+    @Value("${data.api.key-index.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Entity manager used to load the keys.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The keys of each entity , keyed by entity then attribute , empty until loaded.
+     */
+    private volatile ImmutableMap<Class<?>, ImmutableMap<String, Keys>> keys = ImmutableMap.of();
+
+    /**
+     * Loads the keys once the application is ready i.e after the datastore has been seeded. Until then lookups by
+     * natural key query the datastore.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        final ImmutableMap.Builder<Class<?>, ImmutableMap<String, Keys>> loaded = new ImmutableMap.Builder<>();
+        for (final EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            final Class<?> idType = entity.getIdType().getJavaType();
+            if (!entity.hasSingleIdAttribute() || !LongColumn.supports(idType)) {
+                continue;
+            }
+
+            final String idAttribute = entity.getId(idType).getName();
+            final ImmutableMap.Builder<String, Keys> attributes = new ImmutableMap.Builder<>();
+            for (final FilterMetadata filter : FilterRegistry.metadata(entity.getJavaType()).values()) {
+                if (filter.isId() || !filter.isIndexed() || !LongColumn.supports(filter.getType())) {
+                    continue;
+                }
+
+                final Keys loadedKeys = load(entity, idAttribute, filter);
+                if (loadedKeys == null) {
+                    log.warn("{}.{} has null or duplicate values , lookups by it will query the datastore",
+                            entity.getName(), filter.getAttribute());
+                } else {
+                    attributes.put(filter.getAttribute(), loadedKeys);
+                    log.info("Indexed {}.{} , {} keys", entity.getName(), filter.getAttribute(), loadedKeys.size);
+                }
+            }
+            loaded.put(entity.getJavaType(), attributes.build());
+        }
+        keys = loaded.build();
+    }
+
+    /**
+     * Loads the key index of the given attribute.
+     * @param entity      The entity.
+     * @param idAttribute The identifier attribute of the entity.
+     * @param filter      The attribute to index.
+     * @return The keys , null if the attribute has null or duplicate values.
+     */
+    private Keys load(final EntityType<?> entity, final String idAttribute, final FilterMetadata filter) {
+        final String jpql = QueryBuilder.project(
+                QueryBuilder.getAll(entity.getName()), ImmutableList.of(idAttribute, filter.getAttribute()));
+        final List<Object[]> rows = entityManager.createQuery(jpql, Object[].class).getResultList();
+
+        final Object[] ids = new Object[rows.size()];
+        final Object[] values = new Object[rows.size()];
+        for (int row = 0; row < ids.length; row++) {
+            ids[row] = rows.get(row)[0];
+            values[row] = rows.get(row)[1];
+        }
+
+        final KeyIndex index = KeyIndex.of(LongColumn.of(filter.getType(), values), values.length);
+        return index == null
+                ? null
+                : new Keys(index, LongColumn.of(entity.getIdType().getJavaType(), ids), values.length);
+    }
+
+    /**
+     * Checks whether the given attribute of the entity is indexed.
+     * @param clazz     The entity type.
+     * @param attribute The attribute.
+     * @return true if lookups by the attribute can use {@link KeyIndexStore#id(Class, String, Object)}.
+     */
+    public boolean indexes(final Class<?> clazz, final String attribute) {
+        final ImmutableMap<String, Keys> attributes = keys.get(clazz);
+        return attributes != null && attributes.containsKey(attribute);
+    }
+
+    /**
+     * Looks up the identifier of the entity with the given key.
+     * @param clazz     The entity type.
+     * @param attribute The indexed attribute , see {@link KeyIndexStore#indexes(Class, String)}.
+     * @param key       The value of the attribute , in its type.
+     * @return The identifier of the entity , null if no entity has the key.
+     */
+    public Object id(final Class<?> clazz, final String attribute, final Object key) {
+        final ImmutableMap<String, Keys> attributes = keys.get(clazz);
+        final Keys attributeKeys = attributes == null ? null : attributes.get(attribute);
+        if (attributeKeys == null) {
+            throw new IllegalArgumentException("No key index for : " + clazz.getSimpleName() + '.' + attribute);
+        }
+
+        final int row = key == null ? KeyIndex.NO_ROW : attributeKeys.index.row(((Number) key).longValue());
+        return row == KeyIndex.NO_ROW ? null : attributeKeys.ids.get(row);
+    }
+
+    /**
+     * The key index of an attribute , and the identifier of the entity at each row of the index.
+     */
+    private static final class Keys {
+
+        /**
+         * The index from key to row.
+         */
+        private final KeyIndex index;
+
+        /**
+         * The identifier of each row.
+         */
+        private final LongColumn ids;
+
+        /**
+         * The number of keys.
+         */
+        private final int size;
+
+        Keys(final KeyIndex index, final LongColumn ids, final int size) {
+            this.index = index;
+            this.ids = ids;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.south.african.data.api.util.filter.FilterPredicate;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+/**
+ * A column for integral attributes (Long , Integer , Short , Byte) stored as primitive longs , with nulls tracked in a
+ * bit set.
+ */
+final class LongColumn implements Column {
+
+    /**
+     * The attribute type , values are boxed back to it when read.
+     */
+    private final Class<?> type;
+
+    /**
+     * The value of each row , 0 for null rows.
+     */
+    private final long[] values;
+
+    /**
+     * The rows with a null value.
+     */
+    private final BitSet nulls;
+
+    private LongColumn(final Class<?> type, final long[] values, final BitSet nulls) {
+        this.type = type;
+        this.values = values;
+        this.nulls = nulls;
+    }
+
+    static boolean supports(final Class<?> type) {
+        return type == Long.class || type == long.class
+                || type == Integer.class || type == int.class
+                || type == Short.class || type == short.class
+                || type == Byte.class || type == byte.class;
+    }
+
+    static LongColumn of(final Class<?> type, final Object[] values) {
+        final long[] longs = new long[values.length];
+        final BitSet nulls = new BitSet(values.length);
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                nulls.set(row);
+            } else {
+                longs[row] = ((Number) values[row]).longValue();
+            }
+        }
+        return new LongColumn(type, longs, nulls);
+    }
+
+    @Override
+    public Class<?> type() {
+        return type;
+    }
+
+    @Override
+    public Object get(final int row) {
+        if (nulls.get(row)) {
+            return null;
+        } else if (type == Long.class || type == long.class) {
+            return values[row];
+        } else if (type == Integer.class || type == int.class) {
+            return (int) values[row];
+        } else if (type == Short.class || type == short.class) {
+            return (short) values[row];
+        }
+        return (byte) values[row];
+    }
+
+    @Override
+    public IntPredicate matcher(final FilterPredicate predicate) {
+        final long[] allowed = allowedValues(predicate.getValues());
+        final boolean matchesNull = predicate.isMatchesNull();
+        return row -> nulls.get(row) ? matchesNull : Arrays.binarySearch(allowed, values[row]) >= 0;
+    }
+
+    /**
+     * Checks whether the given row has a null value.
+     * @param row The row ordinal.
+     * @return true if the value of the row is null.
+     */
+    boolean isNull(final int row) {
+        return nulls.get(row);
+    }
+
+    /**
+     * Retrieves the primitive value of the given row.
+     * @param row The row ordinal.
+     * @return The value of the row , 0 for null rows.
+     */
+    long getLong(final int row) {
+        return values[row];
+    }
+
+    /**
+     * Converts the given values to a sorted array of longs for binary search.
+     * @param allowedValues Values of the attribute type.
+     * @return The sorted values.
+     */
+    static long[] allowedValues(final Iterable<?> allowedValues) {
+        long[] allowed = new long[0];
+        for (final Object value : allowedValues) {
+            allowed = Arrays.copyOf(allowed, allowed.length + 1);
+            allowed[allowed.length - 1] = ((Number) value).longValue();
+        }
+        Arrays.sort(allowed);
+        return allowed;
+    }
+}
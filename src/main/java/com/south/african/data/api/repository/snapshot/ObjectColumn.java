@@ -0,0 +1,45 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.filter.FilterPredicate;
+
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * A column for attributes without a more compact representation , holding the values as they are.
+ */
+final class ObjectColumn implements Column {
+
+    /**
+     * The attribute type.
+     */
+    private final Class<?> type;
+
+    /**
+     * The value of each row.
+     */
+    private final Object[] values;
+
+    ObjectColumn(final Class<?> type, final Object[] values) {
+        this.type = type;
+        this.values = values;
+    }
+
+    @Override
+    public Class<?> type() {
+        return type;
+    }
+
+    @Override
+    public Object get(final int row) {
+        return values[row];
+    }
+
+    @Override
+    public IntPredicate matcher(final FilterPredicate predicate) {
+        final Set<Object> allowed = ImmutableSet.copyOf(predicate.getValues());
+        final boolean matchesNull = predicate.isMatchesNull();
+        return row -> values[row] == null ? matchesNull : allowed.contains(values[row]);
+    }
+}
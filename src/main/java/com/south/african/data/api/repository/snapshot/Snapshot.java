@@ -0,0 +1,481 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.util.filter.FilterMetadata;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import com.south.african.data.api.util.filter.FilterRegistry;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import javax.persistence.Id;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, columnar, in memory copy of an entity table. Rows are sorted by the entity identifier and each
+ * attribute is held in a {@link Column}, entities are only materialized for the rows a query returns. Filterable
+ * attributes with few distinct values are also indexed with a {@link BitmapIndex} , so filters are evaluated as bitmap
+ * operations and a page is read from the resulting bitmap by row ordinal , filters on other attributes scan the rows
+ * selected by the indexes. Unique integral attributes , such as identifiers , are indexed with a {@link KeyIndex} , so
+ * looking an entity up by them is a single hash probe.
+ * @param <T> The entity type.
+ */
+public final class Snapshot<T> {
+
+    /**
+     * The default maximum number of distinct values of an attribute indexed with a {@link BitmapIndex}.
+     */
+    public static final int DEFAULT_MAX_INDEX_CARDINALITY = 256;
+
+    /**
+     * The entity type.
+     */
+    private final Class<T> clazz;
+
+    /**
+     * The number of rows.
+     */
+    private final int size;
+
+    /**
+     * The columns keyed by attribute , in the order of the entity constructor parameters.
+     */
+    private final ImmutableMap<String, Column> columns;
+
+    /**
+     * The bitmap indexes of the filterable attributes , keyed by attribute.
+     */
+    private final ImmutableMap<String, BitmapIndex> indexes;
+
+    /**
+     * The key indexes of the unique integral attributes , keyed by attribute.
+     */
+    private final ImmutableMap<String, KeyIndex> keys;
+
+    /**
+     * The identifier attribute , rows are sorted by it.
+     */
+    private final String idAttribute;
+
+    /**
+     * The constructor of the entity , taking the attribute values as an array.
+     */
+    private final MethodHandle constructor;
+
+    private Snapshot(
+            final Class<T> clazz,
+            final int size,
+            final ImmutableMap<String, Column> columns,
+            final ImmutableMap<String, BitmapIndex> indexes,
+            final ImmutableMap<String, KeyIndex> keys,
+            final String idAttribute,
+            final MethodHandle constructor) {
+        this.clazz = clazz;
+        this.size = size;
+        this.columns = columns;
+        this.indexes = indexes;
+        this.keys = keys;
+        this.idAttribute = idAttribute;
+        this.constructor = constructor;
+    }
+
+    /**
+     * Creates a snapshot of the given entities , bitmap indexing attributes with up to
+     * {@link Snapshot#DEFAULT_MAX_INDEX_CARDINALITY} distinct values.
+     * @param clazz    The entity type.
+     * @param entities The entities , sorted by identifier.
+     * @return A snapshot of the entities.
+     * @param <T>
+     * @throws SnapshotException if the entity cannot be held in a snapshot.
+     */
+    public static <T> Snapshot<T> of(final Class<T> clazz, final List<T> entities) throws SnapshotException {
+        return of(clazz, entities, DEFAULT_MAX_INDEX_CARDINALITY);
+    }
+
+    /**
+     * Creates a snapshot of the given entities. The entity should have a constructor taking every attribute in
+     * declaration order and a numeric identifier.
+     * @param clazz               The entity type.
+     * @param entities            The entities , sorted by identifier.
+     * @param maxIndexCardinality The maximum number of distinct values of a filterable attribute indexed with a
+     *                            {@link BitmapIndex} , filters on attributes with more values scan the rows instead.
+     * @return A snapshot of the entities.
+     * @param <T>
+     * @throws SnapshotException if the entity cannot be held in a snapshot.
+     */
+    public static <T> Snapshot<T> of(final Class<T> clazz, final List<T> entities, final int maxIndexCardinality)
+            throws SnapshotException {
+
+        final List<Field> fields = new ArrayList<>();
+        String idAttribute = null;
+        for (final Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                fields.add(field);
+                idAttribute = field.isAnnotationPresent(Id.class) ? field.getName() : idAttribute;
+            }
+        }
+
+        final Class<?>[] types = fields.stream().map(Field::getType).toArray(Class<?>[]::new);
+        final MethodHandle constructor;
+        try {
+            final Constructor<T> declared = clazz.getDeclaredConstructor(types);
+            declared.setAccessible(true);
+            constructor = MethodHandles.lookup().unreflectConstructor(declared)
+                    .asSpreader(Object[].class, types.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (final NoSuchMethodException | IllegalAccessException | RuntimeException e) {
+            throw new SnapshotException("No constructor taking every attribute for entity : " + clazz.getName(), e);
+        }
+
+        final ImmutableMap.Builder<String, Column> columns = new ImmutableMap.Builder<>();
+        for (final Field field : fields) {
+            final Object[] values = new Object[entities.size()];
+            try {
+                field.setAccessible(true);
+                for (int row = 0; row < values.length; row++) {
+                    values[row] = field.get(entities.get(row));
+                }
+            } catch (final IllegalAccessException | RuntimeException e) {
+                throw new SnapshotException("Unable to read attribute : " + field.getName(), e);
+            }
+            columns.put(field.getName(), Column.of(field.getType(), values));
+        }
+
+        final ImmutableMap<String, Column> built = columns.build();
+        if (idAttribute == null || !(built.get(idAttribute) instanceof LongColumn)) {
+            throw new SnapshotException("No numeric identifier for entity : " + clazz.getName(), null);
+        }
+
+        final ImmutableMap.Builder<String, KeyIndex> keys = new ImmutableMap.Builder<>();
+        for (final Map.Entry<String, Column> column : built.entrySet()) {
+            if (column.getValue() instanceof LongColumn) {
+                final KeyIndex key = KeyIndex.of((LongColumn) column.getValue(), entities.size());
+                if (key != null) {
+                    keys.put(column.getKey(), key);
+                }
+            }
+        }
+        final ImmutableMap<String, KeyIndex> builtKeys = keys.build();
+
+        // Filters on a key select at most a row per value , which the key index finds without a bitmap per row.
+        final ImmutableMap.Builder<String, BitmapIndex> indexes = new ImmutableMap.Builder<>();
+        for (final FilterMetadata filter : FilterRegistry.metadata(clazz).values()) {
+            final Column column = built.get(filter.getAttribute());
+            if (column != null && !builtKeys.containsKey(filter.getAttribute())) {
+                final BitmapIndex index = BitmapIndex.of(column, entities.size(), maxIndexCardinality);
+                if (index != null) {
+                    indexes.put(filter.getAttribute(), index);
+                }
+            }
+        }
+
+        return new Snapshot<>(
+                clazz, entities.size(), built, indexes.build(), builtKeys, idAttribute, constructor);
+    }
+
+    /**
+     * The number of rows in the snapshot.
+     * @return The row count.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Retrieves all the entities that satisfy the given predicates , sorted by identifier.
+     * @param predicates The filter predicates.
+     * @return The matching entities.
+     */
+    public ArrayList<T> getAll(final List<FilterPredicate> predicates) {
+        final RoaringBitmap selected = select(predicates);
+        final IntPredicate matcher = matcher(unindexed(predicates));
+        final ArrayList<T> data = new ArrayList<>(selected.getCardinality());
+        final PeekableIntIterator rows = selected.getIntIterator();
+        while (rows.hasNext()) {
+            final int row = rows.next();
+            if (matcher.test(row)) {
+                data.add(materialize(row));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Streams all the entities that satisfy the given predicates , sorted by identifier. Entities are materialized as
+     * the stream is consumed , so only the rows being consumed are held in memory.
+     * @param predicates The filter predicates.
+     * @return A stream of the matching entities.
+     */
+    public Stream<T> stream(final List<FilterPredicate> predicates) {
+        final IntPredicate matcher = matcher(unindexed(predicates));
+        return select(predicates).stream().filter(matcher).mapToObj(this::materialize);
+    }
+
+    /**
+     * Retrieves the first entity with the given value for the attribute.
+     * @param attribute The attribute to look up.
+     * @param id        The value of the attribute , in its type or as a string.
+     * @return The entity , an empty optional if there is no such entity.
+     */
+    public Optional<T> getById(final String attribute, final Object id) {
+        final KeyIndex key = keys.get(attribute);
+        if (key != null) {
+            final Object value = attributeValue(column(attribute), id);
+            final int row = value == null ? KeyIndex.NO_ROW : key.row(((Number) value).longValue());
+            return row == KeyIndex.NO_ROW ? Optional.empty() : Optional.of(materialize(row));
+        }
+
+        final ArrayList<T> data = getByIds(attribute, List.of(id), 1);
+        return data.isEmpty() ? Optional.empty() : Optional.of(data.get(0));
+    }
+
+    /**
+     * Retrieves the entities with any of the given values for the attribute , sorted by identifier.
+     * @param attribute The attribute to look up.
+     * @param ids       The values of the attribute , in its type or as strings.
+     * @return The matching entities.
+     */
+    public ArrayList<T> getByIds(final String attribute, final Collection<?> ids) {
+        return getByIds(attribute, ids, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Retrieves entities after the given cursor , sorted by identifier , from the entities that satisfy the predicates.
+     * @param cursorAttribute The attribute the cursor is for , which has to be the identifier.
+     * @param previousCursor  The identifier of the last entity of the previous page , null for the first page.
+     * @param limit           The maximum number of entities.
+     * @param predicates      The filter predicates.
+     * @return The matching entities.
+     */
+    public ArrayList<T> getAfter(
+            final String cursorAttribute,
+            final Object previousCursor,
+            final int limit,
+            final List<FilterPredicate> predicates) {
+
+        if (!supportsCursor(cursorAttribute)) {
+            throw new IllegalArgumentException("Snapshot is sorted by : " + idAttribute);
+        }
+
+        final RoaringBitmap selected = select(predicates);
+        final IntPredicate matcher = matcher(unindexed(predicates));
+        final ArrayList<T> data = new ArrayList<>(Math.min(limit, selected.getCardinality()));
+        final PeekableIntIterator rows = selected.getIntIterator();
+        rows.advanceIfNeeded(firstRowAfter(previousCursor));
+        while (rows.hasNext() && data.size() < limit) {
+            final int row = rows.next();
+            if (matcher.test(row)) {
+                data.add(materialize(row));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Checks whether pages can be retrieved with a cursor for the given attribute.
+     * @param cursorAttribute The attribute the cursor is for.
+     * @return true if the rows are sorted by the attribute.
+     */
+    public boolean supportsCursor(final String cursorAttribute) {
+        return idAttribute.equals(cursorAttribute);
+    }
+
+    /**
+     * Checks whether the snapshot has a column for the given attribute.
+     * @param attribute The attribute.
+     * @return true if the attribute is part of the snapshot.
+     */
+    public boolean hasAttribute(final String attribute) {
+        return columns.containsKey(attribute);
+    }
+
+    private ArrayList<T> getByIds(final String attribute, final Collection<?> ids, final int limit) {
+        final Column column = column(attribute);
+        final List<Object> values = new ArrayList<>();
+        for (final Object id : ids) {
+            final Object value = attributeValue(column, id);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+
+        final KeyIndex key = keys.get(attribute);
+        if (key != null) {
+            final RoaringBitmap rows = new RoaringBitmap();
+            for (final Object value : values) {
+                final int row = key.row(((Number) value).longValue());
+                if (row != KeyIndex.NO_ROW) {
+                    rows.add(row);
+                }
+            }
+
+            final ArrayList<T> data = new ArrayList<>(Math.min(limit, rows.getCardinality()));
+            final PeekableIntIterator matching = rows.getIntIterator();
+            while (matching.hasNext() && data.size() < limit) {
+                data.add(materialize(matching.next()));
+            }
+            return data;
+        }
+
+        final IntPredicate matcher = column.matcher(new FilterPredicate(attribute, ImmutableList.copyOf(values), false));
+        final ArrayList<T> data = new ArrayList<>();
+        for (int row = 0; row < size && data.size() < limit; row++) {
+            if (matcher.test(row)) {
+                data.add(materialize(row));
+            }
+        }
+        return data;
+    }
+
+    private Column column(final String attribute) {
+        final Column column = columns.get(attribute);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown attribute : " + attribute);
+        }
+        return column;
+    }
+
+    private static Object attributeValue(final Column column, final Object id) {
+        return id == null || column.type().isInstance(id) ? id : FilterPredicate.convert(column.type(), id.toString());
+    }
+
+    private int firstRowAfter(final Object previousCursor) {
+        if (previousCursor == null) {
+            return 0;
+        }
+
+        final LongColumn ids = (LongColumn) columns.get(idAttribute);
+        final long cursor = Long.parseLong(previousCursor.toString());
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (ids.getLong(middle) <= cursor) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Selects the rows that satisfy the predicates on indexed attributes , as the intersection of the rows that satisfy
+     * each of them.
+     * @param predicates The predicates.
+     * @return The selected rows , all rows if no predicate is on an indexed attribute.
+     */
+    private RoaringBitmap select(final List<FilterPredicate> predicates) {
+        RoaringBitmap selected = null;
+        for (final FilterPredicate predicate : predicates) {
+            final BitmapIndex index = indexes.get(predicate.getAttribute());
+            final KeyIndex key = keys.get(predicate.getAttribute());
+            if (index == null && key == null) {
+                continue;
+            }
+
+            final RoaringBitmap rows = index != null ? index.select(predicate) : select(key, predicate);
+            if (selected == null) {
+                selected = rows;
+            } else {
+                selected.and(rows);
+            }
+            if (selected.isEmpty()) {
+                break;
+            }
+        }
+        return selected == null ? RoaringBitmap.bitmapOfRange(0, size) : selected;
+    }
+
+    /**
+     * Selects the rows whose key satisfies the given predicate. Keys are never null , so only the values are looked up.
+     * @param key       The key index of the attribute.
+     * @param predicate The predicate.
+     * @return The matching rows.
+     */
+    private static RoaringBitmap select(final KeyIndex key, final FilterPredicate predicate) {
+        final RoaringBitmap rows = new RoaringBitmap();
+        for (final Object value : predicate.getValues()) {
+            final int row = key.row(((Number) value).longValue());
+            if (row != KeyIndex.NO_ROW) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private List<FilterPredicate> unindexed(final List<FilterPredicate> predicates) {
+        final List<FilterPredicate> unindexed = new ArrayList<>();
+        for (final FilterPredicate predicate : predicates) {
+            if (!indexes.containsKey(predicate.getAttribute()) && !keys.containsKey(predicate.getAttribute())) {
+                unindexed.add(predicate);
+            }
+        }
+        return unindexed;
+    }
+
+    private IntPredicate matcher(final List<FilterPredicate> predicates) {
+        final IntPredicate[] matchers = new IntPredicate[predicates.size()];
+        for (int i = 0; i < matchers.length; i++) {
+            final Column column = columns.get(predicates.get(i).getAttribute());
+            matchers[i] = column.matcher(predicates.get(i));
+        }
+
+        if (matchers.length == 0) {
+            return row -> true;
+        } else if (matchers.length == 1) {
+            return matchers[0];
+        }
+
+        return row -> {
+            for (final IntPredicate matcher : matchers) {
+                if (!matcher.test(row)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private T materialize(final int row) {
+        final Object[] values = new Object[columns.size()];
+        int i = 0;
+        for (final Column column : columns.values()) {
+            values[i++] = column.get(row);
+        }
+
+        try {
+            return (T) (Object) constructor.invokeExact(values);
+        } catch (final Throwable e) {
+            throw new SnapshotException("Unable to materialize row of entity : " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        long indexBytes = 0;
+        for (final BitmapIndex index : indexes.values()) {
+            indexBytes += index.sizeInBytes();
+        }
+        for (final KeyIndex key : keys.values()) {
+            indexBytes += key.sizeInBytes();
+        }
+        return "Snapshot{" + clazz.getSimpleName() + ", rows=" + size + ", columns=" + Arrays.toString(
+                columns.keySet().toArray()) + ", indexes=" + Arrays.toString(indexes.keySet().toArray())
+                + ", keys=" + Arrays.toString(keys.keySet().toArray()) + ", indexBytes=" + indexBytes + "}";
+    }
+}
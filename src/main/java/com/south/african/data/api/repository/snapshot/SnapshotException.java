@@ -0,0 +1,17 @@
+package com.south.african.data.api.repository.snapshot;
+
+/**
+ * Exception for when an entity cannot be held in , or read from , a snapshot. This extends a runtime exception since it
+ * signals a mismatch between an entity and the snapshot engine rather than a bad request.
+ */
+public class SnapshotException extends RuntimeException {
+
+    /**
+     * Creates the exception.
+     * @param message The reason.
+     * @param cause   The underlying exception , may be null.
+     */
+    public SnapshotException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,89 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.repository.util.QueryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Holds a {@link Snapshot} of each entity when the snapshot engine is enabled (data.api.snapshot.enabled). The datasets
+ * are seeded once at startup and never written through the api , so once the snapshots are loaded reads can be served
+ * from memory without going through the datastore.
+ */
+@Slf4j
+@Component
+public class SnapshotStore {
+
+    /**
+     * Whether the snapshot engine is enabled.
+     */
+    @Value("${data.api.snapshot.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * The maximum number of distinct values of an attribute indexed with a bitmap index , see {@link Snapshot}.
+     */
+    @Value("${data.api.snapshot.max-index-cardinality:" + Snapshot.DEFAULT_MAX_INDEX_CARDINALITY + "}")
+    private int maxIndexCardinality;
+
+    /**
+     * Entity manager used to load the snapshots.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The snapshot of each entity , empty until loaded.
+     */
+    private volatile ImmutableMap<Class<?>, Snapshot<?>> snapshots = ImmutableMap.of();
+
+    /**
+     * Loads the snapshots once the application is ready i.e after the datastore has been seeded. Until then reads fall
+     * back to the datastore.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        final ImmutableMap.Builder<Class<?>, Snapshot<?>> loaded = new ImmutableMap.Builder<>();
+        for (final EntityType<?> entity : entityManager.getMetamodel().getEntities()) {
+            try {
+                loaded.put(entity.getJavaType(), load(entity));
+            } catch (final SnapshotException e) {
+                log.error("Unable to load snapshot for entity : {} , reads will use the datastore", entity.getName(), e);
+            }
+        }
+        snapshots = loaded.build();
+        snapshots.values().forEach(snapshot -> log.info("Loaded {}", snapshot));
+    }
+
+    private <T> Snapshot<T> load(final EntityType<T> entity) {
+        final String idAttribute = entity.getId(entity.getIdType().getJavaType()).getName();
+        final List<T> entities = entityManager.createQuery(
+                QueryBuilder.getAllSortedById(entity.getName(), idAttribute), entity.getJavaType())
+                .getResultList();
+        return Snapshot.of(entity.getJavaType(), entities, maxIndexCardinality);
+    }
+
+    /**
+     * Retrieves the snapshot of the given entity.
+     * @param clazz The entity type.
+     * @return The snapshot , an empty optional if the engine is disabled or the snapshot is not loaded.
+     * @param <T>
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Optional<Snapshot<T>> get(final Class<T> clazz) {
+        return Optional.ofNullable((Snapshot<T>) snapshots.get(clazz));
+    }
+}
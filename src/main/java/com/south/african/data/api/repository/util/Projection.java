@@ -0,0 +1,128 @@
+package com.south.african.data.api.repository.util;
+
+import com.google.common.collect.ImmutableList;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A projection of an entity onto some of its attributes , so a query only selects their columns. The selected values
+ * are materialized into an entity through its all arguments constructor , the attributes that are not selected are
+ * null.
+ * @param <T> The entity type.
+ */
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class Projection<T> {
+
+    /**
+     * The all arguments constructor and the attributes in constructor argument order , of each entity.
+     */
+    private static final ClassValue<Shape> SHAPES = new ClassValue<>() {
+        @Override
+        protected Shape computeValue(final Class<?> type) {
+            return new Shape(type);
+        }
+    };
+
+    private final Constructor<T> constructor;
+    private final int arity;
+    private final ImmutableList<String> attributes;
+    private final int[] positions;
+
+    @SuppressWarnings("unchecked")
+    private Projection(final Class<T> clazz, final Collection<String> fields, final String... required) {
+        final Shape shape = SHAPES.get(clazz);
+        this.constructor = (Constructor<T>) shape.constructor;
+        this.arity = shape.attributes.size();
+
+        final List<String> selected = new ArrayList<>();
+        final List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < arity; i++) {
+            final String attribute = shape.attributes.get(i);
+            if (fields.contains(attribute) || List.of(required).contains(attribute)) {
+                selected.add(attribute);
+                positions.add(i);
+            }
+        }
+        this.attributes = ImmutableList.copyOf(selected);
+        this.positions = positions.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Creates the projection of the given entity onto the given fields.
+     * @param clazz    The entity class.
+     * @param fields   The attributes to select , every attribute is selected if empty.
+     * @param required The attributes to select whatever the fields i.e the ones records are sorted or paginated by.
+     * @return The projection , null if every attribute is selected.
+     * @param <T>
+     */
+    public static <T> Projection<T> of(final Class<T> clazz, final Collection<String> fields, final String... required) {
+        if (fields == null || fields.isEmpty()) {
+            return null;
+        }
+        final Projection<T> projection = new Projection<>(clazz, fields, required);
+        return projection.attributes.size() == projection.arity ? null : projection;
+    }
+
+    /**
+     * The selected attributes , in declaration order.
+     * @return The attributes to select.
+     */
+    public ImmutableList<String> attributes() {
+        return attributes;
+    }
+
+    /**
+     * Materializes a row of selected values into an entity.
+     * @param row The values of the selected attributes , in the order of {@link Projection#attributes()} , a single
+     *            value when only one attribute is selected.
+     * @return The entity.
+     */
+    public T instance(final Object row) {
+        final Object[] values = row instanceof Object[] ? (Object[]) row : new Object[]{row};
+        final Object[] arguments = new Object[arity];
+        for (int i = 0; i < positions.length; i++) {
+            arguments[positions[i]] = values[i];
+        }
+        try {
+            return constructor.newInstance(arguments);
+        } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create " + constructor.getDeclaringClass().getSimpleName(), e);
+        }
+    }
+
+    /**
+     * The attributes of an entity i.e its instance fields in declaration order , and the constructor taking all of them.
+     */
+    private static final class Shape {
+
+        private final Constructor<?> constructor;
+        private final ImmutableList<String> attributes;
+
+        /**
+         * Reads the attributes and the constructor of the given entity.
+         * @param clazz The entity class.
+         */
+        Shape(final Class<?> clazz) {
+            final List<String> names = new ArrayList<>();
+            final List<Class<?>> types = new ArrayList<>();
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    names.add(field.getName());
+                    types.add(field.getType());
+                }
+            }
+            try {
+                this.constructor = clazz.getDeclaredConstructor(types.toArray(new Class<?>[0]));
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalArgumentException(clazz.getSimpleName() + " has no all arguments constructor", e);
+            }
+            this.attributes = ImmutableList.copyOf(names);
+        }
+    }
+}
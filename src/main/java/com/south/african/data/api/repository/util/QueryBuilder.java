@@ -1,11 +1,18 @@
 package com.south.african.data.api.repository.util;
 
-import org.apache.logging.log4j.util.Strings;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.south.african.data.api.util.filter.FilterPredicate;
 
-import java.util.Set;
+import java.util.List;
+import java.util.function.Supplier;
 
 /**
- * Query builder for fetching stuff from JPQL.
+ * Query builder for fetching stuff from JPQL. Values are never part of a statement , they are bound to the named
+ * parameters of the statement ({@link QueryBuilder#ID_PARAMETER}, {@link QueryBuilder#IDS_PARAMETER},
+ * {@link QueryBuilder#CURSOR_PARAMETER} and {@link QueryBuilder#filterParameter(int)}) , so each statement shape has a
+ * single JPQL string. Statements are built once per shape and cached , and the datastore parses and plans each of them
+ * once.
  */
 @SuppressWarnings({
         "checkstyle:missingjavadoctype",
@@ -13,23 +20,52 @@ import java.util.Set;
         "checkstyle:javadocvariable"})
 public final class QueryBuilder {
 
+    public static final String ID_PARAMETER = "id";
+    public static final String IDS_PARAMETER = "ids";
+    public static final String CURSOR_PARAMETER = "cursor";
     private static final String ENTITY = "$entity";
     private static final String FIELD = "$field";
     private static final String ID = "$id";
     private static final String VALUE = "$value";
     private static final String GET_ALL_QUERY_TEMPLATE = "SELECT e FROM $entity e";
+    private static final String COUNT_QUERY_TEMPLATE = "SELECT COUNT(e) FROM $entity e";
     private static final String GET_ALL_WITH_FIELD_VALUE_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE e.$field = :$value";
-    private static final String GET_BY_ID_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE e.$id = $value";
-    private static final String GET_BY_IDS_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE e.$id IN ($value)";
+    private static final String GET_BY_ID_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE e.$id = :id";
+    private static final String GET_BY_IDS_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE e.$id IN (:ids)";
     private static final String GET_ALL_SORTED_BY_ID_QUERY_TEMPLATE =
             "SELECT e FROM $entity e ORDER BY e.$id";
     private static final String GET_ALL_AFTER_ID_SORTED_BY_ID_QUERY_TEMPLATE =
-            "SELECT e FROM $entity e WHERE e.$id > $value ORDER BY e.$id";
+            "SELECT e FROM $entity e WHERE e.$id > :cursor ORDER BY e.$id";
+    private static final String GET_ALL_WITH_FILTERS_QUERY_TEMPLATE = "SELECT e FROM $entity e WHERE $value";
+    private static final String GET_ALL_WITH_FILTERS_SORTED_BY_ID_QUERY_TEMPLATE =
+            "SELECT e FROM $entity e WHERE $field ORDER BY e.$id";
+    private static final String GET_ALL_AFTER_ID_WITH_FILTERS_SORTED_BY_ID_QUERY_TEMPLATE =
+            "SELECT e FROM $entity e WHERE e.$id > :cursor AND $field ORDER BY e.$id";
+    private static final String FILTER_IN_TEMPLATE = "e.$field IN (:$value)";
+    private static final String FILTER_IS_NULL_TEMPLATE = "e.$field IS NULL";
+    private static final String FILTER_PARAMETER_PREFIX = "filter";
+    private static final String SELECT_ENTITY = "SELECT e FROM ";
+    private static final int MAX_STATEMENTS = 1024;
+
+    /**
+     * The statements built so far , keyed by shape. Bounded , since filter combinations are chosen by clients.
+     */
+    private static final Cache<String, String> STATEMENTS = Caffeine.newBuilder()
+            .maximumSize(MAX_STATEMENTS)
+            .build();
 
     private QueryBuilder() { }
 
+    private static String statement(final String shape, final Supplier<String> builder) {
+        return STATEMENTS.get(shape, key -> builder.get());
+    }
+
     public static String getAll(final String entity) {
-        return  GET_ALL_QUERY_TEMPLATE.replace("$entity", entity);
+        return statement("getAll|" + entity, () -> GET_ALL_QUERY_TEMPLATE.replace(ENTITY, entity));
+    }
+
+    public static String count(final String entity) {
+        return statement("count|" + entity, () -> COUNT_QUERY_TEMPLATE.replace(ENTITY, entity));
     }
 
     public static String getAllWithFieldValue(final String entity, final String field, final String value) {
@@ -39,30 +75,139 @@ public final class QueryBuilder {
                 .replace(VALUE, value);
     }
 
-    public static String getById(final String entity, final String idColumn, final String id) {
-        return GET_BY_ID_QUERY_TEMPLATE
+    // The id is bound to ID_PARAMETER.
+    public static String getById(final String entity, final String idColumn) {
+        return statement("getById|" + entity + '|' + idColumn, () -> GET_BY_ID_QUERY_TEMPLATE
                 .replace(ENTITY, entity)
-                .replace(ID, idColumn)
-                .replace(VALUE, id);
+                .replace(ID, idColumn));
     }
 
-    public static String getByIds(final String entity, final String idColumn, final Set<String> ids) {
-        return GET_BY_IDS_QUERY_TEMPLATE
+    // The ids are bound to IDS_PARAMETER.
+    public static String getByIds(final String entity, final String idColumn) {
+        return statement("getByIds|" + entity + '|' + idColumn, () -> GET_BY_IDS_QUERY_TEMPLATE
                 .replace(ENTITY, entity)
-                .replace(ID, idColumn)
-                .replace(VALUE, Strings.join(ids, ','));
+                .replace(ID, idColumn));
     }
 
     public static String getAllSortedById(final String entity, final String idColumn) {
-        return GET_ALL_SORTED_BY_ID_QUERY_TEMPLATE
+        return statement("getAllSortedById|" + entity + '|' + idColumn, () -> GET_ALL_SORTED_BY_ID_QUERY_TEMPLATE
                 .replace(ENTITY, entity)
-                .replace(ID, idColumn);
+                .replace(ID, idColumn));
     }
 
-    public static String getAllAfterIdSortedById(final String entity, final String id, final String idColumn) {
-        return GET_ALL_AFTER_ID_SORTED_BY_ID_QUERY_TEMPLATE
-                .replace(ENTITY, entity)
-                .replace(VALUE, id)
-                .replace(ID, idColumn);
+    // The cursor is bound to CURSOR_PARAMETER.
+    public static String getAllAfterIdSortedById(final String entity, final String idColumn) {
+        return statement("getAllAfterIdSortedById|" + entity + '|' + idColumn, () ->
+                GET_ALL_AFTER_ID_SORTED_BY_ID_QUERY_TEMPLATE
+                        .replace(ENTITY, entity)
+                        .replace(ID, idColumn));
+    }
+
+    public static String getAllWithFilters(final String entity, final List<FilterPredicate> predicates) {
+        if (predicates.isEmpty()) {
+            return getAll(entity);
+        }
+
+        return statement("getAllWithFilters|" + entity + '|' + shape(predicates), () ->
+                GET_ALL_WITH_FILTERS_QUERY_TEMPLATE
+                        .replace(ENTITY, entity)
+                        .replace(VALUE, filterConditions(predicates)));
+    }
+
+    public static String getAllWithFiltersSortedById(
+            final String entity,
+            final String idColumn,
+            final List<FilterPredicate> predicates) {
+
+        if (predicates.isEmpty()) {
+            return getAllSortedById(entity, idColumn);
+        }
+
+        return statement("getAllWithFiltersSortedById|" + entity + '|' + idColumn + '|' + shape(predicates), () ->
+                GET_ALL_WITH_FILTERS_SORTED_BY_ID_QUERY_TEMPLATE
+                        .replace(ENTITY, entity)
+                        .replace(FIELD, filterConditions(predicates))
+                        .replace(ID, idColumn));
+    }
+
+    // The cursor is bound to CURSOR_PARAMETER.
+    public static String getAllAfterIdWithFiltersSortedById(
+            final String entity,
+            final String idColumn,
+            final List<FilterPredicate> predicates) {
+
+        if (predicates.isEmpty()) {
+            return getAllAfterIdSortedById(entity, idColumn);
+        }
+
+        return statement("getAllAfterIdWithFiltersSortedById|" + entity + '|' + idColumn + '|' + shape(predicates), () ->
+                GET_ALL_AFTER_ID_WITH_FILTERS_SORTED_BY_ID_QUERY_TEMPLATE
+                        .replace(ENTITY, entity)
+                        .replace(FIELD, filterConditions(predicates))
+                        .replace(ID, idColumn));
+    }
+
+    /**
+     * The shape of the filter conditions for the given predicates i.e the attributes and whether each of them has
+     * values and/or matches null. Predicates of the same shape have the same conditions , whatever their values.
+     * @param predicates The filter predicates.
+     * @return The shape of the predicates.
+     */
+    private static String shape(final List<FilterPredicate> predicates) {
+        final StringBuilder shape = new StringBuilder();
+        for (final FilterPredicate predicate : predicates) {
+            shape.append(predicate.getAttribute())
+                    .append(predicate.getValues().isEmpty() ? "" : ":in")
+                    .append(predicate.isMatchesNull() ? ":null" : "")
+                    .append(',');
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Creates the condition for the given predicates. Values within a predicate are OR'ed and predicates are AND'ed, each
+     * predicate's values are bound to the parameter named by {@link QueryBuilder#filterParameter(int)} for its index.
+     * @param predicates The filter predicates , these should not be unsatisfiable.
+     * @return The JPQL condition for the predicates.
+     */
+    public static String filterConditions(final List<FilterPredicate> predicates) {
+        final StringBuilder conditions = new StringBuilder();
+        for (int i = 0; i < predicates.size(); i++) {
+            final FilterPredicate predicate = predicates.get(i);
+            final StringBuilder condition = new StringBuilder();
+
+            if (!predicate.getValues().isEmpty()) {
+                condition.append(FILTER_IN_TEMPLATE
+                        .replace(FIELD, predicate.getAttribute())
+                        .replace(VALUE, filterParameter(i)));
+            }
+            if (predicate.isMatchesNull()) {
+                condition.append(condition.length() == 0 ? "" : " OR ")
+                        .append(FILTER_IS_NULL_TEMPLATE.replace(FIELD, predicate.getAttribute()));
+            }
+
+            conditions.append(i == 0 ? "" : " AND ").append('(').append(condition).append(')');
+        }
+        return conditions.toString();
+    }
+
+    /**
+     * Narrows the select list of the given statement to the given attributes , so only their columns are read.
+     * @param statement  A statement selecting the entity , built by this class.
+     * @param attributes The attributes to select , every attribute is selected if empty.
+     * @return The statement selecting the attributes.
+     */
+    public static String project(final String statement, final List<String> attributes) {
+        if (attributes.isEmpty()) {
+            return statement;
+        }
+
+        final String select = "SELECT e." + String.join(", e.", attributes) + " FROM ";
+        return statement("project|" + String.join(",", attributes) + '|' + statement, () ->
+                select + statement.substring(SELECT_ENTITY.length()));
+    }
+
+    public static String filterParameter(final int index) {
+        return FILTER_PARAMETER_PREFIX + index;
     }
 }
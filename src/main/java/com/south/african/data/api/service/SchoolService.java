@@ -8,19 +8,30 @@ import com.south.african.data.api.util.encoding.Pagination;
 import com.south.african.data.api.util.query.Query;
 import com.south.african.data.api.util.query.QueryException;
 import com.south.african.data.api.util.query.parameter.MaxResults;
+import com.south.african.data.api.util.request.BatchGetRequest;
 import com.south.african.data.api.util.request.Request;
+import com.south.african.data.api.util.response.BatchGetResponse;
+import com.south.african.data.api.util.response.ExportFormat;
 import com.south.african.data.api.util.response.Response;
+import com.south.african.data.api.util.response.ResponseStreamer;
 import com.south.african.data.api.repository.BaseRepository;
 import com.south.african.data.api.util.filter.FilterUtil;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import com.south.african.data.api.util.metrics.Metrics;
 import com.south.african.data.api.util.query.parameter.NextToken;
 import com.south.african.data.api.util.resource.ResourceException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * The service for retrieving and mapping information about schools.
@@ -39,6 +50,18 @@ public class SchoolService {
     @Autowired
     private BaseRepository repository;
 
+    /**
+     * Writes streamed responses.
+     */
+    @Autowired
+    private ResponseStreamer streamer;
+
+    /**
+     * The timers the in memory filtering is recorded in.
+     */
+    @Autowired
+    private LayerMetrics layerMetrics;
+
     /**
      * Retrieves a school resource with the given id.
      * @param  request The request.
@@ -63,6 +86,41 @@ public class SchoolService {
                     HttpStatus.OK);
     }
 
+    /**
+     * Retrieves the schools with the given ids , in the order the ids were requested. Pagination and filters do not
+     * apply to batch gets.
+     * @param request  The request.
+     * @param query    The query details (filters pagination etc).
+     * @param batchGet The ids to retrieve.
+     * @return The schools that were found and the ids that were not.
+     * @throws QueryException if the query has parameters , or there are no ids or too many ids.
+     */
+    public ResponseEntity<BatchGetResponse<School>> batchGetSchools(
+            final Request request,
+            final Query query,
+            final BatchGetRequest batchGet) throws QueryException {
+
+        if (query.isPaginated()) {
+            throw QueryException.unknownParameter(MaxResults.KEY);
+        } else if (query.hasNextToken()) {
+            throw QueryException.unknownParameter(NextToken.KEY);
+        } else if (query.getFilters() != null && !query.getFilters().isEmpty()) {
+            throw QueryException.unknownParameter(query.getFilters().keySet().iterator().next());
+        }
+
+        final List<String> ids = batchGet.distinctIds();
+        final Map<String, School> schools = repository.getByIds(
+                School.class,
+                School.class.getSimpleName(),
+                SCHOOL_ID_FILTER,
+                ids,
+                School::getSchoolId);
+
+        request.getMetrics().addCount("batchGetIds", ids.size());
+        request.getMetrics().addCount(Metrics.RECORDS, ids.size());
+        return new ResponseEntity<>(BatchGetResponse.of(request.getId(), ids, schools), HttpStatus.OK);
+    }
+
     /**
      * Retrieves the schools data for the given query i.e filters applied.
      * @param request The request.
@@ -81,11 +139,19 @@ public class SchoolService {
                     SCHOOL_ID_FILTER,
                     query.getFilters().get(SCHOOL_ID_FILTER));
 
+            final int ids = data.size();
+            final long start = System.nanoTime();
             FilterUtil.applyFilters(query.getFilters(), data);
+            layerMetrics.recordFilter("by-id", System.nanoTime() - start, ids, data.size());
+            request.getMetrics().addCount(Metrics.RECORDS, data.size());
             return new ResponseEntity<>(new Response<>(request.getId(), data, null), HttpStatus.OK);
         } else if (!query.isPaginated()) {
-            final ArrayList<School> data = repository.getAll(School.class, School.class.getSimpleName());
-            FilterUtil.applyFilters(query.getFilters(), data);
+            final ArrayList<School> data = repository.getAll(
+                    School.class,
+                    School.class.getSimpleName(),
+                    query.getFilters(),
+                    query.getFields().value());
+            request.getMetrics().addCount(Metrics.RECORDS, data.size());
             return new ResponseEntity<>(new Response<>(request.getId(), data, null), HttpStatus.OK);
         }
 
@@ -94,18 +160,84 @@ public class SchoolService {
                     ?
                     Long.parseLong(Pagination.decodeToken(
                             query.getNextToken().value(),
-                            School.class.getSimpleName())) : null;
+                            School.class.getSimpleName(),
+                            query.getFilters())) : null;
             final Page<School> page = repository.getPage(
                     School.class,
                     School.class.getSimpleName(),
                     cursor,
                     "id",
                     query.getMaxResults().value(),
-                    school -> school.getId());
-            FilterUtil.applyFilters(query.getFilters(), page.getData());
+                    school -> school.getId(),
+                    query.getFilters(),
+                    query.getFields().value());
+            request.getMetrics().addCount(Metrics.RECORDS, page.getData().size());
             return new ResponseEntity<>(new Response<>(request.getId(), page.getData(), page.getCursor()), HttpStatus.OK);
         } catch (final NumberFormatException | JsonProcessingException e) {
             throw QueryException.invalidParameterValue(NextToken.KEY, query.getNextToken().value());
         }
     }
+
+    /**
+     * Checks whether the response to the given query is streamed , see {@link ResponseStreamer}. Queries filtering on
+     * the school id are looked up by id and are not streamed.
+     * @param query The query details (filters pagination etc).
+     * @return true if the response should be written with streamSchools.
+     */
+    public boolean streams(final Query query) {
+        return streamer.streams(query)
+                && (query.getFilters() == null || !query.getFilters().containsKey(SCHOOL_ID_FILTER));
+    }
+
+    /**
+     * Streams the schools data for the given query i.e filters applied , to the given response.
+     * @param request  The request.
+     * @param query    The query details (filters pagination etc).
+     * @param response The servlet response to write to.
+     * @throws IOException if writing to the response fails.
+     */
+    public void streamSchools(final Request request, final Query query, final HttpServletResponse response)
+            throws IOException {
+
+        try (final Stream<School> data = repository.stream(
+                School.class,
+                School.class.getSimpleName(),
+                query.getFilters(),
+                query.getFields().value(),
+                streamer.getChunkSize())) {
+            streamer.write(request, response, School.class, query.getFields(), data);
+        }
+    }
+
+    /**
+     * Exports the schools data for the given query i.e filters applied , to the given response. Pagination does not apply
+     * to exports , every school that satisfies the filters is written.
+     * @param request  The request.
+     * @param query    The query details (filters pagination etc).
+     * @param format   The export format.
+     * @param response The servlet response to write to.
+     * @throws QueryException if the query is paginated.
+     * @throws IOException if writing to the response fails.
+     */
+    public void exportSchools(
+            final Request request,
+            final Query query,
+            final ExportFormat format,
+            final HttpServletResponse response) throws QueryException, IOException {
+
+        if (query.isPaginated()) {
+            throw QueryException.unknownParameter(MaxResults.KEY);
+        } else if (query.hasNextToken()) {
+            throw QueryException.unknownParameter(NextToken.KEY);
+        }
+
+        try (final Stream<School> data = repository.stream(
+                School.class,
+                School.class.getSimpleName(),
+                query.getFilters(),
+                query.getFields().value(),
+                streamer.getChunkSize())) {
+            streamer.export(request, response, School.class, query.getFields(), data, format, "schools");
+        }
+    }
 }
@@ -0,0 +1,231 @@
+package com.south.african.data.api.util.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * A serialized response body held in the {@link ResponseCache}. Response bodies start with the id of the request they
+ * were created for i.e {"requestId":"...",...}, so only the rest of the body is held , along with its deflated form ,
+ * and the body for a request is assembled by writing that request's id in front of it. A gzip body is assembled the
+ * same way , by writing the request id as a stored deflate block in front of the deflated rest of the body.
+ */
+public final class CachedResponse {
+
+    /**
+     * The start of every response body , before the request id.
+     */
+    static final byte[] PREFIX = "{\"requestId\":\"".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The gzip member header i.e magic number , deflate method , no flags , no modification time , unknown OS.
+     */
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    /**
+     * The gzip trailer length i.e CRC-32 and input size.
+     */
+    private static final int GZIP_TRAILER_LENGTH = 8;
+
+    /**
+     * The deflate block header of a non final stored block , padded to a byte.
+     */
+    private static final int STORED_BLOCK_HEADER_LENGTH = 5;
+
+    /**
+     * The maximum length of a stored deflate block.
+     */
+    private static final int MAX_STORED_BLOCK_LENGTH = 0xFFFF;
+
+    /**
+     * The CRC-32 generator polynomial , reversed.
+     */
+    private static final int CRC32_POLYNOMIAL = 0xEDB88320;
+
+    /**
+     * The body after the request id , starting with its closing quote.
+     */
+    private final byte[] suffix;
+
+    /**
+     * The suffix as raw deflate data , ending with a final block.
+     */
+    private final byte[] deflatedSuffix;
+
+    /**
+     * The CRC-32 of the suffix.
+     */
+    private final int suffixCrc;
+
+    private CachedResponse(final byte[] suffix, final byte[] deflatedSuffix, final int suffixCrc) {
+        this.suffix = suffix;
+        this.deflatedSuffix = deflatedSuffix;
+        this.suffixCrc = suffixCrc;
+    }
+
+    /**
+     * Creates a cached response from the given response body.
+     * @param body      The serialized response body.
+     * @param requestId The id of the request the body was created for.
+     * @return The cached response , null if the body does not start with the request id.
+     */
+    public static CachedResponse of(final byte[] body, final String requestId) {
+        final byte[] start = prefix(requestId);
+        if (body.length < start.length || !Arrays.equals(body, 0, start.length, start, 0, start.length)) {
+            return null;
+        }
+
+        final byte[] suffix = Arrays.copyOfRange(body, start.length, body.length);
+
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream(suffix.length / 4 + 64);
+        try {
+            deflater.setInput(suffix);
+            deflater.finish();
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                deflated.write(buffer, 0, deflater.deflate(buffer));
+            }
+        } finally {
+            deflater.end();
+        }
+
+        final CRC32 crc = new CRC32();
+        crc.update(suffix);
+        return new CachedResponse(suffix, deflated.toByteArray(), (int) crc.getValue());
+    }
+
+    /**
+     * Assembles the response body for the given request.
+     * @param requestId The id of the request.
+     * @return The response body.
+     */
+    public byte[] body(final String requestId) {
+        final byte[] start = prefix(requestId);
+        final byte[] body = Arrays.copyOf(start, start.length + suffix.length);
+        System.arraycopy(suffix, 0, body, start.length, suffix.length);
+        return body;
+    }
+
+    /**
+     * Assembles the gzip encoded response body for the given request , without compressing anything.
+     * @param requestId The id of the request.
+     * @return The gzip encoded response body.
+     */
+    public byte[] gzipBody(final String requestId) {
+        final byte[] start = prefix(requestId);
+        if (start.length > MAX_STORED_BLOCK_LENGTH) {
+            throw new IllegalArgumentException("Request id too long : " + requestId.length());
+        }
+
+        final byte[] gzip = new byte[GZIP_HEADER.length + STORED_BLOCK_HEADER_LENGTH + start.length
+                + deflatedSuffix.length + GZIP_TRAILER_LENGTH];
+        int position = 0;
+
+        System.arraycopy(GZIP_HEADER, 0, gzip, position, GZIP_HEADER.length);
+        position += GZIP_HEADER.length;
+
+        // A non final stored block holding the start of the body , the deflated suffix then follows as further blocks.
+        gzip[position++] = 0;
+        gzip[position++] = (byte) start.length;
+        gzip[position++] = (byte) (start.length >>> 8);
+        gzip[position++] = (byte) ~start.length;
+        gzip[position++] = (byte) (~start.length >>> 8);
+        System.arraycopy(start, 0, gzip, position, start.length);
+        position += start.length;
+
+        System.arraycopy(deflatedSuffix, 0, gzip, position, deflatedSuffix.length);
+        position += deflatedSuffix.length;
+
+        final CRC32 startCrc = new CRC32();
+        startCrc.update(start);
+        final int crc = crc32Combine((int) startCrc.getValue(), suffixCrc, suffix.length);
+        final int size = start.length + suffix.length;
+        for (int i = 0; i < Integer.BYTES; i++) {
+            gzip[position++] = (byte) (crc >>> (Byte.SIZE * i));
+        }
+        for (int i = 0; i < Integer.BYTES; i++) {
+            gzip[position++] = (byte) (size >>> (Byte.SIZE * i));
+        }
+        return gzip;
+    }
+
+    /**
+     * The approximate number of bytes held , used to bound the size of the cache.
+     * @return The size of the cached response in bytes.
+     */
+    public int weight() {
+        return suffix.length + deflatedSuffix.length;
+    }
+
+    private static byte[] prefix(final String requestId) {
+        final byte[] id = requestId.getBytes(StandardCharsets.UTF_8);
+        final byte[] start = Arrays.copyOf(PREFIX, PREFIX.length + id.length);
+        System.arraycopy(id, 0, start, PREFIX.length, id.length);
+        return start;
+    }
+
+    /**
+     * Combines the CRC-32 of two byte sequences into the CRC-32 of their concatenation , as zlib's crc32_combine does.
+     * @param crc1    The CRC-32 of the first sequence.
+     * @param crc2    The CRC-32 of the second sequence.
+     * @param length2 The length of the second sequence.
+     * @return The CRC-32 of the concatenation.
+     */
+    private static int crc32Combine(final int crc1, final int crc2, final long length2) {
+        if (length2 <= 0) {
+            return crc1;
+        }
+
+        // The operator for a single zero bit , then for two and four zero bits.
+        final int[] odd = new int[Integer.SIZE];
+        final int[] even = new int[Integer.SIZE];
+        odd[0] = CRC32_POLYNOMIAL;
+        for (int n = 1; n < Integer.SIZE; n++) {
+            odd[n] = 1 << (n - 1);
+        }
+        gf2MatrixSquare(even, odd);
+        gf2MatrixSquare(odd, even);
+
+        // Apply length2 zero bytes to crc1 , squaring the operator for each bit of the length.
+        int crc = crc1;
+        long length = length2;
+        do {
+            gf2MatrixSquare(even, odd);
+            if ((length & 1) != 0) {
+                crc = gf2MatrixTimes(even, crc);
+            }
+            length >>= 1;
+            if (length == 0) {
+                break;
+            }
+
+            gf2MatrixSquare(odd, even);
+            if ((length & 1) != 0) {
+                crc = gf2MatrixTimes(odd, crc);
+            }
+            length >>= 1;
+        } while (length != 0);
+
+        return crc ^ crc2;
+    }
+
+    private static int gf2MatrixTimes(final int[] matrix, final int vector) {
+        int sum = 0;
+        int remaining = vector;
+        for (int i = 0; remaining != 0; i++, remaining >>>= 1) {
+            if ((remaining & 1) != 0) {
+                sum ^= matrix[i];
+            }
+        }
+        return sum;
+    }
+
+    private static void gf2MatrixSquare(final int[] square, final int[] matrix) {
+        for (int n = 0; n < Integer.SIZE; n++) {
+            square[n] = gf2MatrixTimes(matrix, matrix[n]);
+        }
+    }
+}
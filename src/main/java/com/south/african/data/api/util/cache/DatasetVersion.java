@@ -0,0 +1,101 @@
+package com.south.african.data.api.util.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.south.african.data.api.repository.util.QueryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.metamodel.EntityType;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The version of the datasets , a hash of every seeded row as it is served. The datasets only change on redeploy , so
+ * the version together with the canonical query identifies a response and is used as its entity tag.
+ */
+@Slf4j
+@Component
+public class DatasetVersion {
+
+    /**
+     * The request attribute holding the entity tag of the response to a request.
+     */
+    public static final String KEY = "entityTag";
+
+    /**
+     * Entity manager used to read the datasets.
+     */
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * The object mapper used for the responses , so rows are hashed the way they are served.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The dataset version , null until computed.
+     */
+    private volatile String version;
+
+    /**
+     * Computes the version once the application is ready i.e after the datastore has been seeded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void compute() {
+        final Hasher hasher = Hashing.murmur3_128().newHasher();
+        try {
+            final Iterator<EntityType<?>> entities = entityManager.getMetamodel().getEntities().stream()
+                    .sorted(Comparator.comparing(EntityType::getName))
+                    .iterator();
+            while (entities.hasNext()) {
+                hash(hasher, entities.next());
+            }
+        } catch (final JsonProcessingException | RuntimeException e) {
+            log.error("Unable to compute the dataset version , responses will not have entity tags", e);
+            return;
+        }
+
+        version = hasher.hash().toString();
+        log.info("Dataset version : {}", version);
+    }
+
+    private <T> void hash(final Hasher hasher, final EntityType<T> entity) throws JsonProcessingException {
+        final String idAttribute = entity.getId(entity.getIdType().getJavaType()).getName();
+        final ObjectWriter writer = objectMapper.writerFor(entity.getJavaType());
+        hasher.putString(entity.getName(), StandardCharsets.UTF_8);
+
+        final List<T> rows = entityManager.createQuery(
+                QueryBuilder.getAllSortedById(entity.getName(), idAttribute), entity.getJavaType())
+                .getResultList();
+        for (final T row : rows) {
+            hasher.putBytes(writer.writeValueAsBytes(row));
+        }
+    }
+
+    /**
+     * Creates the entity tag of a response. The tag is weak , since the same response is served gzipped or not , and
+     * Tomcat does not compress responses with a strong tag.
+     * @param key The canonical request i.e the {@link ResponseCache#key} of the request.
+     * @return The weak entity tag i.e W/"...", null if the dataset version has not been computed.
+     */
+    public String entityTag(final String key) {
+        final String current = version;
+        if (current == null) {
+            return null;
+        }
+        return "W/\"" + Hashing.murmur3_128().hashString(current + '|' + key, StandardCharsets.UTF_8).toString() + '"';
+    }
+}
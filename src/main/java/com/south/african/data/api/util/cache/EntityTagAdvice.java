@@ -0,0 +1,55 @@
+package com.south.african.data.api.util.cache;
+
+import com.south.african.data.api.util.response.Response;
+import com.south.african.data.api.util.response.SerializedResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Adds the entity tag derived from the {@link DatasetVersion} to successful responses. Error responses have no entity
+ * tag , so they are never answered with 304 Not Modified.
+ */
+@ControllerAdvice
+public class EntityTagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(
+            final MethodParameter returnType,
+            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            final Object body,
+            final MethodParameter returnType,
+            final MediaType selectedContentType,
+            final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            final ServerHttpRequest request,
+            final ServerHttpResponse response) {
+
+        // The response may already have been serialized for the response cache , see ResponseCacheAdvice.
+        final Object value = body instanceof MappingJacksonValue ? ((MappingJacksonValue) body).getValue() : body;
+        if ((value instanceof Response || value instanceof SerializedResponse)
+                && request instanceof ServletServerHttpRequest
+                && response instanceof ServletServerHttpResponse
+                && ((ServletServerHttpResponse) response).getServletResponse().getStatus() == HttpStatus.OK.value()) {
+            final Object entityTag = ((ServletServerHttpRequest) request).getServletRequest()
+                    .getAttribute(DatasetVersion.KEY);
+            if (entityTag != null) {
+                response.getHeaders().setETag((String) entityTag);
+            }
+        }
+        return body;
+    }
+}
@@ -0,0 +1,120 @@
+package com.south.african.data.api.util.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.parameter.Fields;
+import com.south.african.data.api.util.response.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PostConstruct;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * Cache of serialized responses , keyed by the request path and the canonical form of the query. The datasets do not
+ * change between deployments , so a response for a query can be served again without querying , mapping or
+ * serializing anything. The cache is bounded by the size of the cached responses and evicts with Caffeine's W-TinyLFU
+ * policy , its hit , miss and eviction counts are exported as the "responses" cache metrics.
+ */
+@Component
+public class ResponseCache {
+
+    /**
+     * The request attribute holding the cache key of a request whose response was not cached.
+     */
+    public static final String KEY = "responseCacheKey";
+
+    /**
+     * Whether responses are cached.
+     */
+    @Getter
+    @Value("${data.api.cache.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * The maximum size of the cached responses.
+     */
+    @Value("${data.api.cache.maximum-size:64MB}")
+    private DataSize maximumSize;
+
+    /**
+     * The object mapper used for the responses , so cached responses are serialized the same way.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The registry the cache metrics are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * The cached responses.
+     */
+    private Cache<String, CachedResponse> cache;
+
+    /**
+     * Creates the cache and registers its metrics.
+     */
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .weigher((final String key, final CachedResponse response) -> key.length() + response.weight())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "responses");
+    }
+
+    /**
+     * Creates the cache key for the given request.
+     * @param request The servlet request.
+     * @param query   The query of the request.
+     * @return The cache key.
+     */
+    public static String key(final HttpServletRequest request, final Query query) {
+        return request.getRequestURI() + '?' + query.canonicalForm();
+    }
+
+    /**
+     * Retrieves the cached response for the given key.
+     * @param key The cache key.
+     * @return The cached response , null if there is none.
+     */
+    public CachedResponse get(final String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Serializes the given response , the same way the JSON message converter would.
+     * @param response The response.
+     * @param fields   The fields of the resources in the response.
+     * @return The serialized response body.
+     * @throws JsonProcessingException if the response cannot be serialized.
+     */
+    public byte[] serialize(final Response<?> response, final Fields fields) throws JsonProcessingException {
+        return objectMapper.writer(fields.filters()).writeValueAsBytes(response);
+    }
+
+    /**
+     * Caches the given serialized response body.
+     * @param key       The cache key.
+     * @param body      The serialized response body , see {@link #serialize(Response, Fields)}.
+     * @param requestId The id of the request the body was created for.
+     */
+    public void put(final String key, final byte[] body, final String requestId) {
+        final CachedResponse cached = CachedResponse.of(body, requestId);
+        if (cached != null) {
+            cache.put(key, cached);
+        }
+    }
+}
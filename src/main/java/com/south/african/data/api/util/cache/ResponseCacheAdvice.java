@@ -0,0 +1,82 @@
+package com.south.african.data.api.util.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.response.Response;
+import com.south.african.data.api.util.response.SerializedResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Caches successful responses to requests that missed the {@link ResponseCache} , as they are written. The response is
+ * serialized once , and the serialized body is both cached and written to the client (see {@link SerializedResponse}).
+ */
+@Slf4j
+@ControllerAdvice
+public class ResponseCacheAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * The response cache.
+     */
+    @Autowired
+    private ResponseCache cache;
+
+    /**
+     * The timers the encoding time is recorded in , as the message converter only writes the serialized body.
+     */
+    @Autowired
+    private LayerMetrics layerMetrics;
+
+    @Override
+    public boolean supports(
+            final MethodParameter returnType,
+            final Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            final Object body,
+            final MethodParameter returnType,
+            final MediaType selectedContentType,
+            final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            final ServerHttpRequest request,
+            final ServerHttpResponse response) {
+
+        // The body may have been wrapped to serialize the chosen fields only , see FieldsAdvice.
+        final Object value = body instanceof MappingJacksonValue ? ((MappingJacksonValue) body).getValue() : body;
+        if (value instanceof Response
+                && request instanceof ServletServerHttpRequest
+                && response instanceof ServletServerHttpResponse
+                && ((ServletServerHttpResponse) response).getServletResponse().getStatus() == HttpStatus.OK.value()) {
+            final Object key = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(ResponseCache.KEY);
+            final Object query = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(Query.KEY);
+            if (key != null && query != null) {
+                final long start = System.nanoTime();
+                try {
+                    final byte[] serialized = cache.serialize((Response<?>) value, ((Query) query).getFields());
+                    cache.put((String) key, serialized, ((Response<?>) value).getRequestId());
+                    return new SerializedResponse(serialized);
+                } catch (final JsonProcessingException e) {
+                    log.warn("Unable to cache response for : {}", key, e);
+                } finally {
+                    layerMetrics.record("encoding", "json", System.nanoTime() - start);
+                }
+            }
+        }
+        return body;
+    }
+}
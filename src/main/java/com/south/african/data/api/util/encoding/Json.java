@@ -2,6 +2,7 @@ package com.south.african.data.api.util.encoding;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.south.african.data.api.util.query.parameter.Fields;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
@@ -18,7 +19,7 @@ public final class Json {
     /**
      * Used for marshaling objects to JSON format.
      */
-    private static  final ObjectMapper MAPPER = new ObjectMapper();
+    private static  final ObjectMapper MAPPER = new ObjectMapper().setFilterProvider(Fields.ALL);
 
     private Json() { }
 
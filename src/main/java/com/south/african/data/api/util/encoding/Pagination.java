@@ -3,12 +3,17 @@ package com.south.african.data.api.util.encoding;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.hash.Hashing;
+import com.south.african.data.api.util.query.Query;
 import com.south.african.data.api.util.query.QueryException;
 import com.south.african.data.api.util.query.parameter.NextToken;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Utility class for creating , encoding and decoding pagination tokens.
@@ -36,6 +41,10 @@ public final class Pagination {
      * Key for the underlying cursor.
      */
     private static final String CURSOR_KEY = "cursor";
+    /**
+     * Key for the fingerprint of the filters the token was created for.
+     */
+    private static final String FILTERS_KEY = "filters";
 
     private Pagination() { }
 
@@ -46,9 +55,25 @@ public final class Pagination {
      * @return A masked cursor.
      */
     public static String createToken(final String cursor, final String resource) throws JsonProcessingException {
-        final Map<String, String> tokenParams = ImmutableMap.of(
-                CURSOR_KEY, cursor,
-                RESOURCE_KEY, resource);
+        return createToken(cursor, resource, ImmutableMap.of());
+    }
+
+    /**
+     * Creates a pagination token from the given datastore cursor for a filtered query. The token carries a fingerprint
+     * of the filters, since the cursor is only meaningful for the same filters.
+     * @param cursor  A pointer to particular item in a datastore.
+     * @param  resource The resource the token is tied to.
+     * @param filters The filters the page was retrieved with.
+     * @return A masked cursor.
+     */
+    public static String createToken(
+            final String cursor,
+            final String resource,
+            final Map<String, ImmutableSet<String>> filters) throws JsonProcessingException {
+
+        final Map<String, String> tokenParams = filters == null || filters.isEmpty()
+                ? ImmutableMap.of(CURSOR_KEY, cursor, RESOURCE_KEY, resource)
+                : ImmutableMap.of(CURSOR_KEY, cursor, RESOURCE_KEY, resource, FILTERS_KEY, fingerprint(filters));
         final String tokenJson = MAPPER.writeValueAsString(tokenParams);
         return ENCODER.encodeToString(tokenJson.getBytes());
     }
@@ -60,15 +85,33 @@ public final class Pagination {
      * @return decoded token to cursor.
      */
     public static String decodeToken(final String token, final String resource) throws QueryException {
+        return decodeToken(token, resource, ImmutableMap.of());
+    }
+
+    /**
+     * Decodes a given pagination token for a filtered query. The token is rejected if it was created for different
+     * filters.
+     * @param token  The incoming token form the request
+     * @param resource The resource the token is tied to.
+     * @param filters The filters from the request.
+     * @return decoded token to cursor.
+     */
+    public static String decodeToken(
+            final String token,
+            final String resource,
+            final Map<String, ImmutableSet<String>> filters) throws QueryException {
         try {
             final byte[] decodedBytes = DECODER.decode(token);
             final String tokenJson = new String(decodedBytes);
             final Map<String, String> tokenParams = MAPPER.readValue(tokenJson, Map.class);
+            final String filtersFingerprint = filters == null || filters.isEmpty() ? null : fingerprint(filters);
 
             if (!tokenParams.containsKey(CURSOR_KEY) || !tokenParams.containsKey(RESOURCE_KEY)) {
                 throw QueryException.invalidParameterValue(NextToken.KEY, token);
             } else if (!tokenParams.get(RESOURCE_KEY).equals(resource)) {
                 throw QueryException.invalidParameterValue(NextToken.KEY, token);
+            } else if (!Objects.equals(tokenParams.get(FILTERS_KEY), filtersFingerprint)) {
+                throw QueryException.invalidParameterValue(NextToken.KEY, token);
             }
 
             return tokenParams.get(CURSOR_KEY);
@@ -80,4 +123,15 @@ public final class Pagination {
         }
 
     }
+
+    /**
+     * Creates a short fingerprint of the given filters, which is independent of the order of filter keys and values.
+     * @param filters The filters represented as a map i.e (name -> values association).
+     * @return The fingerprint of the filters.
+     */
+    public static String fingerprint(final Map<String, ImmutableSet<String>> filters) {
+        return Hashing.murmur3_128()
+                .hashString(Query.canonicalFilters(filters), StandardCharsets.UTF_8)
+                .toString();
+    }
 }
@@ -22,4 +22,10 @@ public @interface Filter {
      * @return The name of the filter.
      */
     String name() default DEFAULT_FILTER_NAME;
+
+    /**
+     * Whether the datastore has an index on the column of the field (see data.sql), identifiers are always indexed.
+     * @return true if the column of the field is indexed.
+     */
+    boolean indexed() default false;
 }
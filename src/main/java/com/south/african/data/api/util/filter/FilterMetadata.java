@@ -0,0 +1,52 @@
+package com.south.african.data.api.util.filter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Metadata about a filter of a resource i.e the field it applies to, how values of the field are accessed and what the
+ * datastore knows about the column of the field.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class FilterMetadata {
+
+    /**
+     * The filter key used in query parameters.
+     */
+    private final String key;
+
+    /**
+     * The entity attribute (field name) the filter applies to.
+     */
+    private final String attribute;
+
+    /**
+     * The type of the field.
+     */
+    private final Class<?> type;
+
+    /**
+     * Whether the field may be null.
+     */
+    private final boolean nullable;
+
+    /**
+     * Whether the field is the identifier of the entity.
+     */
+    private final boolean id;
+
+    /**
+     * Whether the datastore has an index on the column of the field.
+     */
+    private final boolean indexed;
+
+    /**
+     * The getter for the field , i.e takes an object and returns the field value as an object.
+     */
+    @JsonIgnore
+    private final MethodHandle accessor;
+}
@@ -0,0 +1,173 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+
+/**
+ * The filter plan for a class i.e the accessors of its fields annotated as a filter from the {@link FilterRegistry}.
+ * Plans are built once per class and cached, so that filters can be evaluated against objects of the class without
+ * reflection. A plan is compiled with the filters of a query into an {@link Evaluator}, which checks objects against
+ * those filters.
+ */
+public final class FilterPlan {
+
+    /**
+     * The plans for each class , computed on first use.
+     */
+    private static final ClassValue<FilterPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected FilterPlan computeValue(final Class<?> type) {
+            return new FilterPlan(type);
+        }
+    };
+
+    /**
+     * The metadata of the filters , keyed by filter key.
+     */
+    private final ImmutableMap<String, FilterMetadata> filters;
+
+    private FilterPlan(final Class<?> clazz) {
+        this.filters = FilterRegistry.metadata(clazz);
+    }
+
+    /**
+     * Retrieves the plan for the given class.
+     * @param clazz The class to retrieve the plan for.
+     * @return The filter plan of the class.
+     */
+    public static FilterPlan of(final Class<?> clazz) {
+        return PLANS.get(clazz);
+    }
+
+    /**
+     * Compiles the given filters against this plan. Filter keys that do not correspond to a filter field are ignored.
+     * @param filters  The filters represented as a map i.e (name -> values association).
+     * @return An evaluator for the filters.
+     */
+    public Evaluator compile(final Map<String, ImmutableSet<String>> filters) {
+
+        if (filters == null || filters.isEmpty()) {
+            return Evaluator.ALL;
+        }
+
+        int size = 0;
+        for (final String filterKey : this.filters.keySet()) {
+            size += filters.containsKey(filterKey) ? 1 : 0;
+        }
+
+        final MethodHandle[] getters = new MethodHandle[size];
+        final ImmutableSet<?>[] values = new ImmutableSet<?>[size];
+        final boolean[] matchesNull = new boolean[size];
+        final boolean[] matchesString = new boolean[size];
+
+        int i = 0;
+        for (final FilterMetadata filter : this.filters.values()) {
+            final ImmutableSet<String> allowedValues = filters.get(filter.getKey());
+            if (allowedValues == null) {
+                continue;
+            }
+
+            final Class<?> type = filter.getType();
+            getters[i] = filter.getAccessor();
+            matchesNull[i] = allowedValues.contains(FilterPredicate.NULL_VALUE);
+            matchesString[i] = !FilterPredicate.isConvertible(type);
+
+            if (matchesString[i]) {
+                values[i] = allowedValues;
+            } else {
+                final ImmutableSet.Builder<Object> converted = new ImmutableSet.Builder<>();
+                for (final String allowedValue : allowedValues) {
+                    final Object value = FilterPredicate.convert(type, allowedValue);
+                    if (value != null) {
+                        converted.add(value);
+                    }
+                }
+                values[i] = converted.build();
+            }
+            i++;
+        }
+
+        return new Evaluator(getters, values, matchesNull, matchesString);
+    }
+
+    /**
+     * The filters of a query compiled against a filter plan.
+     */
+    public static final class Evaluator {
+
+        /**
+         * Evaluator that accepts everything , used when there are no filters.
+         */
+        private static final Evaluator ALL = new Evaluator(
+                new MethodHandle[0], new ImmutableSet<?>[0], new boolean[0], new boolean[0]);
+
+        /**
+         * The accessors of the filtered fields.
+         */
+        private final MethodHandle[] getters;
+
+        /**
+         * The allowed values for each filtered field , in the field type.
+         */
+        private final ImmutableSet<?>[] values;
+
+        /**
+         * Whether a null value is allowed for each filtered field.
+         */
+        private final boolean[] matchesNull;
+
+        /**
+         * Whether the values of each filtered field are matched by their string representation, i.e for field types
+         * that filter values cannot be converted to.
+         */
+        private final boolean[] matchesString;
+
+        private Evaluator(
+                final MethodHandle[] getters,
+                final ImmutableSet<?>[] values,
+                final boolean[] matchesNull,
+                final boolean[] matchesString) {
+            this.getters = getters;
+            this.values = values;
+            this.matchesNull = matchesNull;
+            this.matchesString = matchesString;
+        }
+
+        /**
+         * Checks if the given object satisfies the filters.
+         * @param thing The object to check , which should be of the class the plan was built for.
+         * @return true if filter predicates are satisfied.
+         * @throws FilterUtilException
+         */
+        public boolean test(final Object thing) throws FilterUtilException {
+            for (int i = 0; i < getters.length; i++) {
+                final Object value;
+                try {
+                    value = (Object) getters[i].invokeExact(thing);
+                } catch (final Throwable e) {
+                    throw new FilterUtilException();
+                }
+
+                if (value == null) {
+                    if (!matchesNull[i]) {
+                        return false;
+                    }
+                } else if (!values[i].contains(matchesString[i] ? value.toString() : value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Checks whether there are no filters to evaluate.
+         * @return true if every object satisfies the filters.
+         */
+        public boolean isEmpty() {
+            return getters.length == 0;
+        }
+    }
+}
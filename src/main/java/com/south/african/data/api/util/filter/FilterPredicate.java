@@ -0,0 +1,148 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A filter compiled into a form that can be pushed down into a datastore query, i.e the entity attribute the filter
+ * applies to and the typed values that the attribute may take. This mirrors the semantics of
+ * {@link FilterUtil#applyFilters(Map, Object)} where a value matches when its string representation is one of the
+ * allowed values, and a null attribute matches the allowed value "null".
+ */
+@Getter
+@RequiredArgsConstructor
+public final class FilterPredicate {
+
+    /**
+     * The string used in filter values to match null attributes.
+     */
+    public static final String NULL_VALUE = "null";
+
+    /**
+     * The entity attribute (field name) the predicate applies to.
+     */
+    private final String attribute;
+
+    /**
+     * The allowed values converted to the attribute type.
+     */
+    private final ImmutableList<Object> values;
+
+    /**
+     * Whether a null attribute satisfies the predicate.
+     */
+    private final boolean matchesNull;
+
+    /**
+     * Checks whether no value of the attribute can satisfy the predicate , in which case a query using it has no results.
+     * @return true if the predicate can never be satisfied.
+     */
+    public boolean isUnsatisfiable() {
+        return values.isEmpty() && !matchesNull;
+    }
+
+    /**
+     * Compiles the given filters into predicates for the fields of <T> annotated as filters. Filter keys that do not
+     * correspond to a filter field are ignored, the same way they are when filtering in memory.
+     * @param clazz    The resource type the filters apply to.
+     * @param filters  The filters represented as a map i.e (name -> values association).
+     * @return The predicates for the filters , empty if there is nothing to filter on.
+     * @param <T>
+     * @throws FilterUtilException
+     */
+    public static <T> ImmutableList<FilterPredicate> compile(
+            final Class<T> clazz,
+            final Map<String, ImmutableSet<String>> filters) throws FilterUtilException {
+
+        if (clazz == null || filters == null || filters.isEmpty()) {
+            return ImmutableList.of();
+        }
+
+        final ImmutableList.Builder<FilterPredicate> predicates = new ImmutableList.Builder<>();
+
+        for (final FilterMetadata filter : FilterRegistry.metadata(clazz).values()) {
+            final ImmutableSet<String> allowedValues = filters.get(filter.getKey());
+            if (allowedValues == null) {
+                continue;
+            }
+
+            final ImmutableList.Builder<Object> values = new ImmutableList.Builder<>();
+            for (final String allowedValue : allowedValues) {
+                final Object value = convert(filter.getType(), allowedValue);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+
+            predicates.add(new FilterPredicate(
+                    filter.getAttribute(),
+                    values.build(),
+                    allowedValues.contains(NULL_VALUE)));
+        }
+
+        return predicates.build();
+    }
+
+    /**
+     * Converts a filter value to the given attribute type. Only values whose string representation in the attribute type
+     * equals the filter value are converted, since only those would match when filtering in memory i.e "007" never
+     * matches the Long 7.
+     * @param type   The type of the attribute.
+     * @param value  The filter value.
+     * @return The converted value , null if no attribute value of the type can match the filter value.
+     * @throws FilterUtilException
+     */
+    public static Object convert(final Class<?> type, final String value) throws FilterUtilException {
+
+        if (!isConvertible(type)) {
+            throw new FilterUtilException();
+        } else if (type == String.class) {
+            return value;
+        } else if (value == null || value.equals(NULL_VALUE)) {
+            return null;
+        }
+
+        final Object converted;
+        try {
+            if (type == Long.class || type == long.class) {
+                converted = Long.valueOf(value);
+            } else if (type == Integer.class || type == int.class) {
+                converted = Integer.valueOf(value);
+            } else if (type == Short.class || type == short.class) {
+                converted = Short.valueOf(value);
+            } else if (type == Byte.class || type == byte.class) {
+                converted = Byte.valueOf(value);
+            } else if (type == Double.class || type == double.class) {
+                converted = Double.valueOf(value);
+            } else if (type == Float.class || type == float.class) {
+                converted = Float.valueOf(value);
+            } else {
+                converted = Boolean.valueOf(value);
+            }
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+
+        return converted.toString().equals(value) ? converted : null;
+    }
+
+    /**
+     * Checks whether filter values can be converted to the given attribute type.
+     * @param type The type of the attribute.
+     * @return true if filter values can be converted to the type.
+     */
+    public static boolean isConvertible(final Class<?> type) {
+        return type == String.class
+                || type == Long.class || type == long.class
+                || type == Integer.class || type == int.class
+                || type == Short.class || type == short.class
+                || type == Byte.class || type == byte.class
+                || type == Double.class || type == double.class
+                || type == Float.class || type == float.class
+                || type == Boolean.class || type == boolean.class;
+    }
+}
@@ -0,0 +1,98 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableMap;
+
+import javax.persistence.Column;
+import javax.persistence.Id;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the filter metadata of each resource. The metadata is built once per class, either at startup for
+ * entities (see {@link FilterRegistryLoader}) or on first use, and is then shared by filter validation, in memory
+ * filtering and pushing filters down into datastore queries.
+ */
+public final class FilterRegistry {
+
+    /**
+     * The filter metadata of each class keyed by filter key , computed on first use.
+     */
+    private static final ClassValue<ImmutableMap<String, FilterMetadata>> METADATA = new ClassValue<>() {
+        @Override
+        protected ImmutableMap<String, FilterMetadata> computeValue(final Class<?> type) {
+            return build(type);
+        }
+    };
+
+    /**
+     * The classes that have been registered, keyed by their simple name.
+     */
+    private static final Map<String, Class<?>> REGISTERED = new ConcurrentHashMap<>();
+
+    /**
+     * The type of the accessors , i.e takes an object and returns the field value as an object.
+     */
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private FilterRegistry() { }
+
+    /**
+     * Registers the given class , building its filter metadata if it has not been built yet.
+     * @param clazz The class to register.
+     */
+    public static void register(final Class<?> clazz) {
+        METADATA.get(clazz);
+        REGISTERED.put(clazz.getSimpleName(), clazz);
+    }
+
+    /**
+     * Retrieves the classes that have been registered.
+     * @return The registered classes keyed by their simple name.
+     */
+    public static ImmutableMap<String, Class<?>> registered() {
+        return ImmutableMap.copyOf(REGISTERED);
+    }
+
+    /**
+     * Retrieves the filter metadata of the given class.
+     * @param clazz The class to retrieve filter metadata for.
+     * @return The metadata of each filter of the class keyed by filter key, in field declaration order.
+     */
+    public static ImmutableMap<String, FilterMetadata> metadata(final Class<?> clazz) {
+        if (clazz == null) {
+            return ImmutableMap.of();
+        }
+        return METADATA.get(clazz);
+    }
+
+    private static ImmutableMap<String, FilterMetadata> build(final Class<?> clazz) {
+        final ImmutableMap.Builder<String, FilterMetadata> metadata = new ImmutableMap.Builder<>();
+        for (final Map.Entry<String, Field> filterField : FilterUtil.getFilterFields(clazz).entrySet()) {
+            final Field field = filterField.getValue();
+            final Column column = field.getAnnotation(Column.class);
+            final boolean id = field.isAnnotationPresent(Id.class);
+
+            final MethodHandle accessor;
+            try {
+                field.setAccessible(true);
+                accessor = MethodHandles.lookup().unreflectGetter(field).asType(ACCESSOR_TYPE);
+            } catch (final IllegalAccessException | RuntimeException e) {
+                throw new FilterUtilException();
+            }
+
+            metadata.put(filterField.getKey(), new FilterMetadata(
+                    filterField.getKey(),
+                    field.getName(),
+                    field.getType(),
+                    !field.getType().isPrimitive() && !id && (column == null || column.nullable()),
+                    id,
+                    id || field.getAnnotation(Filter.class).indexed(),
+                    accessor));
+        }
+        return metadata.build();
+    }
+}
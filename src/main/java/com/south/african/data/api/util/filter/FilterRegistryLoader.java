@@ -0,0 +1,35 @@
+package com.south.african.data.api.util.filter;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.metamodel.EntityType;
+
+/**
+ * Registers the filter metadata of every entity at startup, so that no request pays for building it.
+ */
+@Slf4j
+@Component
+public class FilterRegistryLoader {
+
+    /**
+     * The entity manager factory , used to discover the entities.
+     */
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Registers the entities with the filter registry.
+     */
+    @PostConstruct
+    public void load() {
+        for (final EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            FilterRegistry.register(entity.getJavaType());
+            log.info("Registered {} filters for entity : {}",
+                    FilterRegistry.metadata(entity.getJavaType()).size(), entity.getName());
+        }
+    }
+}
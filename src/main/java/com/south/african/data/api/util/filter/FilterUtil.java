@@ -1,6 +1,8 @@
 package com.south.african.data.api.util.filter;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.profiling.FilterEvent;
 import com.south.african.data.api.util.query.QueryException;
 
 import java.lang.reflect.Field;
@@ -41,8 +43,9 @@ public final class FilterUtil {
     }
 
     /**
-     *  Applies the given filters on the given item. This uses reflection to inspect field members of <T> that annotated
-     *  as a filter , and then checks if a field member matches any allowed value for the field.
+     *  Applies the given filters on the given item. This uses the {@link FilterPlan} of <T> , i.e accessors for field
+     *  members of <T> that are annotated as a filter , and then checks if a field member matches any allowed value for
+     *  the field.
      * @param filters   The filters represented as a map o.e (name -> values association).
      * @param thing     Object to introspect and check field member against allowed value.
      * @return true if filter predicates are satisfied.
@@ -56,31 +59,13 @@ public final class FilterUtil {
             return true;
         }
 
-        try {
-            final Class<?> clazz = thing.getClass();
-            for (final Field field : clazz.getDeclaredFields()) {
-                field.setAccessible(true);
-                if (field.isAnnotationPresent(Filter.class)) {
-                    final String value = field.get(thing) == null ? "null" : field.get(thing).toString();
-                    final String fieldName = field.getName();
-                    final String filterName = field.getAnnotation(Filter.class).name();
-                    final String filterKey = !filterName.equals(Filter.DEFAULT_FILTER_NAME) ? filterName : fieldName;
-
-                    if (!filterMatches(filters, filterKey, value)) {
-                        return false;
-                    }
-                }
-            }
-
-            return true;
-        } catch (IllegalAccessException exception) {
-            throw new FilterUtilException();
-        }
-
+        return FilterPlan.of(thing.getClass()).compile(filters).test(thing);
     }
 
     /**
-     * Filters a list of objects in place using {@link FilterUtil.class#applyFilters(Map, ArrayList)} for each object.
+     * Filters a list of objects in place using {@link FilterUtil.class#applyFilters(Map, ArrayList)} for each object. The
+     * filters are compiled once for the class of the objects rather than for each object. The filtering is recorded as a
+     * {@link FilterEvent} for JFR recordings.
      * @param filters   The filters represented as a map o.e (name -> values association).
      * @param things    List of objects to filter.
      * @param <T>
@@ -88,10 +73,17 @@ public final class FilterUtil {
      */
     public static <T> void applyFilters(final Map<String, ImmutableSet<String>> filters, final ArrayList<T> things)
             throws FilterUtilException {
-        if (filters == null || filters.isEmpty()) {
+        if (filters == null || filters.isEmpty() || things.isEmpty()) {
             return;
         }
-        things.removeIf(t -> !applyFilters(filters, t));
+
+        final FilterEvent event = new FilterEvent();
+        event.begin();
+        final int rows = things.size();
+        final Class<?> clazz = things.get(0).getClass();
+        final FilterPlan.Evaluator evaluator = FilterPlan.of(clazz).compile(filters);
+        things.removeIf(t -> !(t.getClass() == clazz ? evaluator.test(t) : applyFilters(filters, t)));
+        event.complete(clazz, filters.keySet(), rows, things.size());
     }
 
     /**
@@ -102,23 +94,33 @@ public final class FilterUtil {
      * @param <T>
      */
     public static <T> ImmutableSet<String> getAllowedFilterKeys(final Class<T> clazz) {
+        return FilterRegistry.metadata(clazz).keySet();
+    }
+
+    /**
+     * Checks for fields in a class marked as filters and associates each field with the corresponding key for the filter.
+     * This introspects the class , {@link FilterRegistry#metadata(Class)} should be used to look up filters.
+     * @param clazz  The class to introspect.
+     * @return       A map of filter names to the fields they apply to, in field declaration order.
+     * @param <T>
+     */
+    public static <T> ImmutableMap<String, Field> getFilterFields(final Class<T> clazz) {
 
         if (clazz == null) {
-            return ImmutableSet.of();
+            return ImmutableMap.of();
         }
 
-        final ImmutableSet.Builder<String> allowedFilters = new ImmutableSet.Builder<>();
+        final ImmutableMap.Builder<String, Field> filterFields = new ImmutableMap.Builder<>();
         for (final Field field : clazz.getDeclaredFields()) {
-            field.setAccessible(true);
             if (field.isAnnotationPresent(Filter.class)) {
                 final String fieldName = field.getName();
                 final String filterName = field.getAnnotation(Filter.class).name();
                 final String filterKey = !filterName.equals(Filter.DEFAULT_FILTER_NAME) ? filterName : fieldName;
-                allowedFilters.add(filterKey);
+                filterFields.put(filterKey, field);
             }
         }
 
-        return allowedFilters.build();
+        return filterFields.build();
     }
 
     /**
@@ -0,0 +1,135 @@
+package com.south.african.data.api.util.metrics;
+
+import com.south.african.data.api.util.query.Query;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each layer a request goes through , so the latency of a request can be broken down in Prometheus rather than
+ * only logged. Every timing is recorded in the {@link LayerMetrics#TIMER} timer , tagged by layer , operation , and the
+ * resource and query shape of the request being served. Percentile histograms are enabled for it in
+ * application.properties.
+ */
+@Component
+public class LayerMetrics {
+
+    /**
+     * The timer of every layer.
+     */
+    public static final String TIMER = "data.api.layer";
+
+    /**
+     * The counter of the rows filtered in memory , tagged by stage i.e in or out.
+     */
+    public static final String FILTER_ROWS = "data.api.filter.rows";
+
+    /**
+     * The tag value of timings outside of a request i.e at startup.
+     */
+    static final String NONE = "none";
+
+    /**
+     * The registry the timers are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * The layer timers , keyed by layer , operation , resource and shape , so they are only built and registered once.
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * The filtered rows counters , keyed by resource and stage , so they are only built and registered once.
+     */
+    private final Map<String, Counter> filterRows = new ConcurrentHashMap<>();
+
+    /**
+     * Records the time taken by an operation of a layer , for the request being served.
+     * @param layer     The layer i.e controller , service , repository , filter or encoding.
+     * @param operation The operation i.e the method name.
+     * @param nanos     The time taken in nanoseconds.
+     */
+    public void record(final String layer, final String operation, final long nanos) {
+        final String[] tags = requestTags();
+        final String key = layer + ' ' + operation + ' ' + tags[0] + ' ' + tags[1];
+        timers.computeIfAbsent(key, k -> Timer.builder(TIMER)
+                        .description("Time spent in each layer serving requests")
+                        .tag("layer", layer)
+                        .tag("operation", operation)
+                        .tag("resource", tags[0])
+                        .tag("shape", tags[1])
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records an in memory filtering of rows , for the request being served.
+     * @param operation The operation i.e what was filtered.
+     * @param nanos     The time taken in nanoseconds.
+     * @param rowsIn    The number of rows filtered.
+     * @param rowsOut   The number of rows that satisfied the filters.
+     */
+    public void recordFilter(final String operation, final long nanos, final int rowsIn, final int rowsOut) {
+        record("filter", operation, nanos);
+        final String resource = requestTags()[0];
+        rows(resource, "in").increment(rowsIn);
+        rows(resource, "out").increment(rowsOut);
+    }
+
+    private Counter rows(final String resource, final String stage) {
+        return filterRows.computeIfAbsent(resource + ' ' + stage, key -> Counter.builder(FILTER_ROWS)
+                .description("Number of rows filtered in memory , in before filtering and out after")
+                .tag("resource", resource)
+                .tag("stage", stage)
+                .register(meterRegistry));
+    }
+
+    /**
+     * The resource and query shape of the request being served.
+     * @return The resource and the shape , {@link LayerMetrics#NONE} outside of a request.
+     */
+    private static String[] requestTags() {
+        final RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return new String[]{NONE, NONE};
+        }
+        final String path = ((ServletRequestAttributes) attributes).getRequest().getServletPath();
+        final Query query = (Query) attributes.getAttribute(Query.KEY, RequestAttributes.SCOPE_REQUEST);
+        final String[] segments = path.split("/");
+        return new String[]{segments.length > 1 ? segments[1] : NONE, shape(segments, query)};
+    }
+
+    /**
+     * The shape of a query , telling lookups by id , batch gets and exports from lists and pages , filtered or not.
+     * @param segments The segments of the request path.
+     * @param query    The query of the request , null if it has none.
+     * @return by-id , batch , export , page , page-filtered , list or list-filtered.
+     */
+    static String shape(final String[] segments, final Query query) {
+        if (segments.length > 2) {
+            switch (segments[2]) {
+                case "export":
+                    return "export";
+                case "batch-get":
+                    return "batch";
+                default:
+                    return "by-id";
+            }
+        } else if (query == null) {
+            return NONE;
+        }
+        final String shape = query.isPaginated() ? "page" : "list";
+        return query.getFilters() == null || query.getFilters().isEmpty() ? shape : shape + "-filtered";
+    }
+}
@@ -0,0 +1,102 @@
+package com.south.african.data.api.util.metrics;
+
+import com.south.african.data.api.repository.model.Page;
+import com.south.african.data.api.util.profiling.RepositoryQueryEvent;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Times the public methods of the controllers , the services and the repository , see {@link LayerMetrics}. Only calls
+ * through the beans are timed , a repository method delegating to another is timed once. Methods returning a stream
+ * are timed until the stream is returned , the time spent consuming it is part of the encoding. Repository calls are
+ * also recorded as {@link RepositoryQueryEvent}s for JFR recordings.
+ */
+@Aspect
+@Component
+public class LayerTimingAspect {
+
+    /**
+     * The timers the layers are recorded in.
+     */
+    @Autowired
+    private LayerMetrics layerMetrics;
+
+    /**
+     * Times a controller method.
+     * @param joinPoint The method call.
+     * @return The result of the method.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("execution(public * com.south.african.data.api.controller..*(..))")
+    public Object controller(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("controller", joinPoint);
+    }
+
+    /**
+     * Times a service method.
+     * @param joinPoint The method call.
+     * @return The result of the method.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("execution(public * com.south.african.data.api.service..*(..)) && !execution(boolean *(..))")
+    public Object service(final ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("service", joinPoint);
+    }
+
+    /**
+     * Times a repository method.
+     * @param joinPoint The method call.
+     * @return The result of the method.
+     * @throws Throwable whatever the method throws.
+     */
+    @Around("execution(public * com.south.african.data.api.repository.BaseRepository.*(..))")
+    public Object repository(final ProceedingJoinPoint joinPoint) throws Throwable {
+        final RepositoryQueryEvent event = new RepositoryQueryEvent();
+        event.begin();
+        Object result = null;
+        try {
+            result = time("repository", joinPoint);
+            return result;
+        } finally {
+            final Object[] args = joinPoint.getArgs();
+            event.complete(
+                    joinPoint.getSignature().getName(),
+                    args.length > 1 && args[1] instanceof String ? (String) args[1] : null,
+                    rows(result));
+        }
+    }
+
+    /**
+     * The number of records a repository call returned.
+     * @param result The result of the call.
+     * @return The number of records , -1 if the result is not a collection of records.
+     */
+    private static int rows(final Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        } else if (result instanceof Map) {
+            return ((Map<?, ?>) result).size();
+        } else if (result instanceof Page) {
+            return ((Page<?>) result).getData().size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private Object time(final String layer, final ProceedingJoinPoint joinPoint) throws Throwable {
+        final long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            layerMetrics.record(layer, joinPoint.getSignature().getName(), System.nanoTime() - start);
+        }
+    }
+}
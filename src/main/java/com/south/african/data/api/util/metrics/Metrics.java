@@ -1,46 +1,53 @@
 package com.south.african.data.api.util.metrics;
 
 
-import com.fasterxml.jackson.annotation.JsonInclude;
-import com.fasterxml.jackson.annotation.JsonProperty;
-
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Metrics that are attached to each request. There are count metrics (these are cumulative for same key) and value metrics,
- * which generate list of values.
+ * which generate list of values. A request only adds a handful of counts , so they are kept in flat arrays searched
+ * linearly , and nothing is allocated until the first metric is added.
  */
 public final class Metrics {
 
     /**
-     * Count metrics , these are additive based on the key.
+     * The count of records read to answer a request.
      */
-    @JsonProperty
-    private final Map<String, Integer> count;
+    public static final String RECORDS = "records";
 
     /**
-     * Individual metric values for particular key.
+     * The number of count slots allocated on the first count.
      */
-    @JsonProperty
-    private final Map<String, List<Double>> value;
+    private static final int INITIAL_SLOTS = 4;
 
     /**
-     * The top level latency metric in milliseconds.
+     * The names of the count metrics , in the order they were first added. Null until a count is added.
      */
-    @JsonProperty
-    @JsonInclude(JsonInclude.Include.NON_NULL)
-    private Long latencyMillis;
+    private String[] countNames;
 
     /**
-     * Metrics constructor.
+     * The count of each metric , at the slot of its name.
      */
-    public Metrics() {
-        this.count = new HashMap<>();
-        this.value = new HashMap<>();
-    }
+    private int[] counts;
+
+    /**
+     * The number of count slots in use.
+     */
+    private int countSize;
+
+    /**
+     * Individual metric values for particular key. Null until a value is added.
+     */
+    private Map<String, List<Double>> value;
+
+    /**
+     * The top level latency metric in milliseconds , -1 until set.
+     */
+    private long latencyMillis = -1;
 
     /**
      * This adds a count metric for the given metricName. Will accumulate value if metric metricName is already present.
@@ -48,7 +55,30 @@ public final class Metrics {
      * @param metricCount  The count value to add.
      */
     public void addCount(final String metricName, final int metricCount) {
-        count.compute(metricName, (k, v) -> (v == null) ? metricCount : v + metricCount);
+        final int slot = slot(metricName);
+        if (slot >= 0) {
+            counts[slot] += metricCount;
+            return;
+        }
+        if (countNames == null) {
+            countNames = new String[INITIAL_SLOTS];
+            counts = new int[INITIAL_SLOTS];
+        } else if (countSize == countNames.length) {
+            countNames = Arrays.copyOf(countNames, countSize * 2);
+            counts = Arrays.copyOf(counts, countSize * 2);
+        }
+        countNames[countSize] = metricName;
+        counts[countSize++] = metricCount;
+    }
+
+    /**
+     * Retrieves the count metric for the given metricName.
+     * @param metricName The metric name.
+     * @return The accumulated count , 0 if no count was added.
+     */
+    public int countOf(final String metricName) {
+        final int slot = slot(metricName);
+        return slot < 0 ? 0 : counts[slot];
     }
 
     /**
@@ -57,13 +87,10 @@ public final class Metrics {
      * @param metricValue  The value to be appended to list of metric values.
      */
     public void addValue(final String metricName, final double metricValue) {
-        if (value.containsKey(metricName)) {
-            value.get(metricName).add(metricValue);
-            return;
+        if (value == null) {
+            value = new LinkedHashMap<>();
         }
-        final ArrayList<Double> newValues = new ArrayList<>();
-        newValues.add(metricValue);
-        value.put(metricName, newValues);
+        value.computeIfAbsent(metricName, k -> new ArrayList<>()).add(metricValue);
     }
 
     /**
@@ -73,5 +100,51 @@ public final class Metrics {
     public void setLatencyMillis(final long latencyMillis) {
         this.latencyMillis = latencyMillis;
     }
-}
 
+    /**
+     * Writes the metrics as JSON , in the form {"count":{...},"value":{...},"latencyMillis":...} they have always been
+     * logged in. Metric names are constants in code , so they are not escaped.
+     * @return The JSON representation of the metrics.
+     */
+    public String toJson() {
+        final StringBuilder json = new StringBuilder(64 + countSize * 24).append("{\"count\":{");
+        for (int i = 0; i < countSize; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append('"').append(countNames[i]).append("\":").append(counts[i]);
+        }
+        json.append("},\"value\":{");
+        if (value != null) {
+            boolean first = true;
+            for (final Map.Entry<String, List<Double>> values : value.entrySet()) {
+                if (!first) {
+                    json.append(',');
+                }
+                first = false;
+                json.append('"').append(values.getKey()).append("\":[");
+                for (int i = 0; i < values.getValue().size(); i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    json.append(values.getValue().get(i).doubleValue());
+                }
+                json.append(']');
+            }
+        }
+        json.append('}');
+        if (latencyMillis >= 0) {
+            json.append(",\"latencyMillis\":").append(latencyMillis);
+        }
+        return json.append('}').toString();
+    }
+
+    private int slot(final String metricName) {
+        for (int i = 0; i < countSize; i++) {
+            if (countNames[i].equals(metricName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package com.south.african.data.api.util.metrics;
+
+import com.south.african.data.api.repository.BaseRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exports the hit , miss and put counts of each Hibernate query cache region. The entity regions and the query cache
+ * as a whole are exported by Spring Boot's Hibernate metrics , which do not break the query cache down by region.
+ */
+@Component
+public class QueryCacheMetrics {
+
+    /**
+     * The query cache regions , see application.conf.
+     */
+    private static final String[] REGIONS = {BaseRepository.PAGE_QUERY_REGION, BaseRepository.LOOKUP_QUERY_REGION};
+
+    /**
+     * The entity manager factory whose statistics are exported.
+     */
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The registry the metrics are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Registers the counters of each query cache region.
+     */
+    @PostConstruct
+    public void init() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (final String region : REGIONS) {
+            registerRequests(statistics, region, "hit", CacheRegionStatistics::getHitCount);
+            registerRequests(statistics, region, "miss", CacheRegionStatistics::getMissCount);
+            FunctionCounter.builder("hibernate.query.cache.region.puts", statistics,
+                    count(region, CacheRegionStatistics::getPutCount))
+                    .tag("region", region)
+                    .description("Number of query results put in the query cache region")
+                    .register(meterRegistry);
+        }
+    }
+
+    private void registerRequests(
+            final Statistics statistics,
+            final String region,
+            final String result,
+            final ToLongFunction<CacheRegionStatistics> counter) {
+
+        FunctionCounter.builder("hibernate.query.cache.region.requests", statistics, count(region, counter))
+                .tag("region", region)
+                .tag("result", result)
+                .description("Number of lookups in the query cache region")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The count of the given region. Query regions are created when first used , until then the count is 0.
+     * @param region  The query cache region.
+     * @param counter Reads the count from the region statistics.
+     * @return The function reading the count from the statistics.
+     */
+    private static ToDoubleFunction<Statistics> count(
+            final String region,
+            final ToLongFunction<CacheRegionStatistics> counter) {
+
+        return statistics -> {
+            final CacheRegionStatistics regionStatistics = statistics.getQueryRegionStatistics(region);
+            return regionStatistics == null ? 0 : counter.applyAsLong(regionStatistics);
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.south.african.data.api.util.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+/**
+ * Exports the Hibernate query plan cache statistics. Statements are parameterized and built once per shape , so nearly
+ * every query should hit the plan cache , a falling hit ratio means statements are being built per value again.
+ */
+@Component
+public class QueryPlanMetrics {
+
+    /**
+     * The entity manager factory whose statistics are exported.
+     */
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * The registry the metrics are exported to.
+     */
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /**
+     * Registers the query plan cache counters and hit ratio.
+     */
+    @PostConstruct
+    public void init() {
+        final Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        FunctionCounter.builder("hibernate.query.plan.cache.hits", statistics, Statistics::getQueryPlanCacheHitCount)
+                .description("Number of queries whose plan was found in the query plan cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("hibernate.query.plan.cache.misses", statistics, Statistics::getQueryPlanCacheMissCount)
+                .description("Number of queries whose plan had to be compiled")
+                .register(meterRegistry);
+        Gauge.builder("hibernate.query.plan.cache.hit.ratio", statistics, QueryPlanMetrics::hitRatio)
+                .description("Ratio of queries whose plan was found in the query plan cache")
+                .register(meterRegistry);
+    }
+
+    private static double hitRatio(final Statistics statistics) {
+        final long hits = statistics.getQueryPlanCacheHitCount();
+        final long total = hits + statistics.getQueryPlanCacheMissCount();
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+}
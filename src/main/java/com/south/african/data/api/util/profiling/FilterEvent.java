@@ -0,0 +1,52 @@
+package com.south.african.data.api.util.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Set;
+
+/**
+ * A JFR event for filtering records in memory , so filter costs show up in recordings next to the CPU samples.
+ */
+@Name(FilterEvent.NAME)
+@Label("Filter")
+@Category({"Data API"})
+@Description("Records filtered in memory")
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class FilterEvent extends Event {
+
+    public static final String NAME = "com.south.african.data.api.Filter";
+
+    @Label("Resource")
+    private String resource;
+
+    @Label("Filters")
+    private String filters;
+
+    @Label("Rows In")
+    private int rowsIn;
+
+    @Label("Rows Out")
+    private int rowsOut;
+
+    /**
+     * Ends the event and commits it , if it is enabled and over its threshold.
+     * @param clazz The class of the filtered records.
+     * @param keys  The keys of the filters applied.
+     * @param in    The number of records filtered.
+     * @param out   The number of records that satisfied the filters.
+     */
+    public void complete(final Class<?> clazz, final Set<String> keys, final int in, final int out) {
+        end();
+        if (shouldCommit()) {
+            this.resource = clazz.getSimpleName();
+            this.filters = String.join(",", keys);
+            this.rowsIn = in;
+            this.rowsOut = out;
+            commit();
+        }
+    }
+}
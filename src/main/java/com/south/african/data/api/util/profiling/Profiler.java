@@ -0,0 +1,244 @@
+package com.south.african.data.api.util.profiling;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs JDK Flight Recorder recordings of the running server on demand , see the profiling actuator endpoint. A recording
+ * uses the low overhead default settings , plus CPU samples at data.api.profiling.sample-interval , sampled allocations
+ * and the {@link RepositoryQueryEvent} and {@link FilterEvent} events lasting at least
+ * data.api.profiling.event-threshold , without stack traces since the CPU samples show where time goes. Recordings stop
+ * by themselves after at most data.api.profiling.max-duration , and only one runs at a time. A recording can be
+ * downloaded as a .jfr file , or as collapsed stacks i.e one line of semicolon separated frames and a weight per stack ,
+ * which flame graph tools read.
+ */
+@Slf4j
+@Component
+public class Profiler {
+
+    /**
+     * The CPU sampling event.
+     */
+    static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+
+    /**
+     * The throttled allocation sampling event , available from Java 16.
+     */
+    static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+
+    /**
+     * The allocations outside of thread local allocation buffers , the sampled allocations before Java 16.
+     */
+    static final String ALLOCATION_OUTSIDE_TLAB = "jdk.ObjectAllocationOutsideTLAB";
+
+    /**
+     * The longest recording.
+     */
+    @Value("${data.api.profiling.max-duration:10m}")
+    private Duration maxDuration;
+
+    /**
+     * The interval between the CPU samples of each thread.
+     */
+    @Value("${data.api.profiling.sample-interval:20ms}")
+    private Duration sampleInterval;
+
+    /**
+     * The shortest repository call or in memory filtering recorded.
+     */
+    @Value("${data.api.profiling.event-threshold:1ms}")
+    private Duration eventThreshold;
+
+    /**
+     * The current or last recording , null if none was started.
+     */
+    private Recording recording;
+
+    /**
+     * Starts a recording , unless one is running.
+     * @param duration How long to record for , at most data.api.profiling.max-duration.
+     * @return true if the recording was started , false if one is running.
+     * @throws IOException if the recording settings cannot be read.
+     * @throws ParseException if the recording settings cannot be parsed.
+     */
+    public synchronized boolean start(final Duration duration) throws IOException, ParseException {
+        if (isRunning()) {
+            return false;
+        }
+        close();
+
+        final Recording started = new Recording(Configuration.getConfiguration("default"));
+        started.setName("data-api-profiling");
+        started.enable(EXECUTION_SAMPLE).withPeriod(sampleInterval);
+        started.enable(ALLOCATION_SAMPLE).withStackTrace().with("throttle", "150/s");
+        if (Runtime.version().feature() < 16) {
+            started.enable(ALLOCATION_OUTSIDE_TLAB).withStackTrace();
+        }
+        started.enable(RepositoryQueryEvent.class).withoutStackTrace().withThreshold(eventThreshold);
+        started.enable(FilterEvent.class).withoutStackTrace().withThreshold(eventThreshold);
+        started.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.start();
+        recording = started;
+        log.info("Started profiling for {}", started.getDuration());
+        return true;
+    }
+
+    /**
+     * Stops the running recording , its data is kept until the next recording starts.
+     * @return true if a recording was stopped.
+     */
+    public synchronized boolean stop() {
+        if (!isRunning()) {
+            return false;
+        }
+        recording.stop();
+        log.info("Stopped profiling");
+        return true;
+    }
+
+    /**
+     * The state of the current or last recording.
+     * @return The name , state , start time and duration of the recording , null if none was started.
+     */
+    public synchronized Map<String, Object> status() {
+        if (recording == null) {
+            return null;
+        }
+        final Map<String, Object> status = new LinkedHashMap<>();
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", String.valueOf(recording.getStartTime()));
+        status.put("duration", String.valueOf(recording.getDuration()));
+        return status;
+    }
+
+    /**
+     * Writes the data recorded so far to a temporary file , the recording keeps running if it is.
+     * @return The .jfr file , which the caller deletes , null if no recording was started.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized Path dump() throws IOException {
+        if (recording == null) {
+            return null;
+        }
+        final Path file = Files.createTempFile("data-api-profiling", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    /**
+     * Aggregates the stacks of the data recorded so far.
+     * @param kind cpu for the CPU samples , allocation for the sampled allocations weighted by their size.
+     * @return The collapsed stacks , heaviest first , null if no recording was started.
+     * @throws IOException if the recorded data cannot be read.
+     */
+    public String collapsed(final String kind) throws IOException {
+        final Path file = dump();
+        if (file == null) {
+            return null;
+        }
+        try {
+            return collapse(file, kind);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Aggregates the stacks of the events of the given kind in the given recording file.
+     * @param file The .jfr file.
+     * @param kind cpu or allocation.
+     * @return A line per distinct stack , its frames from the root separated by semicolons and its weight.
+     * @throws IOException if the file cannot be read.
+     */
+    static String collapse(final Path file, final String kind) throws IOException {
+        final boolean allocation = "allocation".equals(kind);
+        final Map<String, Long> weights = new HashMap<>();
+        try (final RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                final RecordedEvent event = events.readEvent();
+                final long weight = allocation ? allocationWeight(event) : cpuWeight(event);
+                if (weight > 0 && event.getStackTrace() != null) {
+                    weights.merge(stack(event.getStackTrace()), weight, Long::sum);
+                }
+            }
+        }
+
+        final List<Map.Entry<String, Long>> stacks = new ArrayList<>(weights.entrySet());
+        stacks.sort(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()));
+        final StringBuilder collapsed = new StringBuilder();
+        for (final Map.Entry<String, Long> stack : stacks) {
+            collapsed.append(stack.getKey()).append(' ').append(stack.getValue()).append('\n');
+        }
+        return collapsed.toString();
+    }
+
+    private static long cpuWeight(final RecordedEvent event) {
+        return EXECUTION_SAMPLE.equals(event.getEventType().getName()) ? 1 : 0;
+    }
+
+    private static long allocationWeight(final RecordedEvent event) {
+        switch (event.getEventType().getName()) {
+            case ALLOCATION_SAMPLE:
+                return event.getLong("weight");
+            case ALLOCATION_OUTSIDE_TLAB:
+                return event.getLong("allocationSize");
+            default:
+                return 0;
+        }
+    }
+
+    private static String stack(final RecordedStackTrace trace) {
+        final List<RecordedFrame> frames = trace.getFrames();
+        final StringBuilder stack = new StringBuilder();
+        for (int i = frames.size() - 1; i >= 0; i--) {
+            if (stack.length() > 0) {
+                stack.append(';');
+            }
+            final RecordedMethod method = frames.get(i).getMethod();
+            if (method == null) {
+                stack.append("[unknown]");
+            } else {
+                stack.append(method.getType().getName()).append('.').append(method.getName());
+            }
+        }
+        return stack.toString();
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Closes the last recording , discarding its data.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
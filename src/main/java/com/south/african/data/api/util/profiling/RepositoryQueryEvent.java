@@ -0,0 +1,46 @@
+package com.south.african.data.api.util.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A JFR event for a call to the repository , so the time spent reading records shows up in recordings next to the CPU
+ * samples and the JDBC activity of the call.
+ */
+@Name(RepositoryQueryEvent.NAME)
+@Label("Repository Query")
+@Category({"Data API"})
+@Description("A call to the repository")
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class RepositoryQueryEvent extends Event {
+
+    public static final String NAME = "com.south.african.data.api.RepositoryQuery";
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Entity")
+    private String entity;
+
+    @Label("Rows")
+    private int rows;
+
+    /**
+     * Ends the event and commits it , if it is enabled and over its threshold.
+     * @param method The repository method called.
+     * @param name   The entity name the call read.
+     * @param count  The number of records read , -1 if not known.
+     */
+    public void complete(final String method, final String name, final int count) {
+        end();
+        if (shouldCommit()) {
+            this.operation = method;
+            this.entity = name;
+            this.rows = count;
+            commit();
+        }
+    }
+}
@@ -2,13 +2,18 @@ package com.south.african.data.api.util.query;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.query.parameter.Fields;
 import com.south.african.data.api.util.query.parameter.MaxResults;
 import com.south.african.data.api.util.query.parameter.NextToken;
 import lombok.Getter;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.regex.Pattern;
 
 /**
@@ -27,17 +32,34 @@ public final class Query {
     private final MaxResults maxResults;
     private final NextToken nextToken;
     private final Map<String, ImmutableSet<String>> filters;
+    private final Fields fields;
 
     /**
-     * Creates a query from the given request query parameters.
+     * Creates a query from the given request query parameters , returning every field.
      * @param filters       The filters associated with the query.
      * @param maxResults     The max results allowed for the query.
      * @param nextToken     The next token for pagination.
      */
     public Query(final Map<String, ImmutableSet<String>> filters, final MaxResults maxResults, final NextToken nextToken) {
+        this(filters, maxResults, nextToken, Fields.all());
+    }
+
+    /**
+     * Creates a query from the given request query parameters.
+     * @param filters       The filters associated with the query.
+     * @param maxResults     The max results allowed for the query.
+     * @param nextToken     The next token for pagination.
+     * @param fields        The fields of each resource to return.
+     */
+    public Query(
+            final Map<String, ImmutableSet<String>> filters,
+            final MaxResults maxResults,
+            final NextToken nextToken,
+            final Fields fields) {
         this.maxResults = maxResults;
         this.nextToken = nextToken;
         this.filters = filters;
+        this.fields = fields;
     }
 
     /**
@@ -101,6 +123,45 @@ public final class Query {
                 .collect(ImmutableSet.toImmutableSet());
     }
 
+    /**
+     * Creates a canonical representation of the given filters, with filter keys and values sorted, so that the same
+     * filters have the same representation regardless of the order they were specified in.
+     * @param filters The filters represented as a map i.e (name -> values association).
+     * @return The canonical representation of the filters , an empty string if there are no filters.
+     */
+    public static String canonicalFilters(final Map<String, ImmutableSet<String>> filters) {
+
+        if (filters == null || filters.isEmpty()) {
+            return "";
+        }
+
+        final StringBuilder canonical = new StringBuilder();
+        for (final Map.Entry<String, ImmutableSet<String>> filter : new TreeMap<>(filters).entrySet()) {
+            canonical.append(canonical.length() == 0 ? "" : "&")
+                    .append(URLEncoder.encode(filter.getKey(), StandardCharsets.UTF_8))
+                    .append('=');
+            boolean first = true;
+            for (final String value : new TreeSet<>(filter.getValue())) {
+                canonical.append(first ? "" : ",").append(URLEncoder.encode(value, StandardCharsets.UTF_8));
+                first = false;
+            }
+        }
+        return canonical.toString();
+    }
+
+    /**
+     * Creates a canonical representation of the query i.e the canonical filters , max results , next token and the sorted
+     * fields if any , so that equivalent queries have the same representation.
+     * @return The canonical representation of the query.
+     */
+    public String canonicalForm() {
+        final String token = hasNextToken() ? URLEncoder.encode(nextToken.value(), StandardCharsets.UTF_8) : "";
+        return canonicalFilters(filters)
+                + '|' + MaxResults.KEY + '=' + (isPaginated() ? maxResults.value() : "")
+                + '|' + NextToken.KEY + '=' + token
+                + (fields.isEmpty() ? "" : '|' + Fields.KEY + '=' + String.join(",", new TreeSet<>(fields.value())));
+    }
+
     /**
      * Check whether the query is paginated or not. A paginated query has a non empty max results value.
      * @return true if the query has a value for max results.
@@ -134,7 +195,8 @@ public final class Query {
         }
 
         for (final String key : parameters.keySet()) {
-            if (!key.equals(MaxResults.KEY) && !key.equals(NextToken.KEY) && !key.equals(RESOURCE_ID_KEY)) {
+            if (!key.equals(MaxResults.KEY) && !key.equals(NextToken.KEY) && !key.equals(RESOURCE_ID_KEY)
+                    && !key.equals(Fields.KEY)) {
                 if (!FILTER_KEY_PATTERN.matcher(key).matches() && !FILTER_VALUE_PATTERN.matcher(key).matches()) {
                     throw QueryException.unknownParameter(key);
                 }
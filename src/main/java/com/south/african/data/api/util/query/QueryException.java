@@ -22,7 +22,9 @@ public final class QueryException extends Throwable {
         NO_FILTER_VALUES,
         NO_FILTER_KEY,
         INVALID_FILTER_VALUE,
-        NO_RESOURCE_ID_VALUES
+        NO_RESOURCE_ID_VALUES,
+        TOO_MANY_RESOURCE_IDS,
+        UNKNOWN_FIELD
     }
 
 
@@ -89,6 +91,12 @@ public final class QueryException extends Throwable {
         return new QueryException(HttpStatus.BAD_REQUEST, QueryException.Type.UNKNOWN_FILTER_KEY, message);
     }
 
+    @SuppressWarnings({"checkstyle:missingjavadocmethod"})
+    public static QueryException unknownField(final String field) {
+        final String message = "Unknown field : " + field;
+        return new QueryException(HttpStatus.BAD_REQUEST, Type.UNKNOWN_FIELD, message);
+    }
+
     @SuppressWarnings({"checkstyle:missingjavadocmethod"})
     public static QueryException tooManyFilterValues(final String filter, final int maximum) {
         final String message = "Too many filter values for filter : " + filter + " , a maximum of " + maximum
@@ -113,4 +121,10 @@ public final class QueryException extends Throwable {
         final String message = "No resource id values specified";
         return new QueryException(HttpStatus.BAD_REQUEST, Type.NO_RESOURCE_ID_VALUES, message);
     }
+
+    @SuppressWarnings({"checkstyle:missingjavadocmethod"})
+    public static QueryException tooManyResourceIds(final int maximum) {
+        final String message = "Too many resource ids , a maximum of " + maximum + " ids is allowed";
+        return new QueryException(HttpStatus.BAD_REQUEST, Type.TOO_MANY_RESOURCE_IDS, message);
+    }
 }
@@ -0,0 +1,147 @@
+package com.south.african.data.api.util.query.parameter;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.query.QueryException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+/**
+ * Represents the sparse fieldset specified in request query string i.e the comma separated properties of each resource
+ * to return. Resources are annotated with {@code @JsonFilter(Fields.FILTER)} , so only the chosen properties are
+ * serialized , and the repository only selects their columns.
+ */
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class Fields {
+
+    public static final String DESCRIPTION =
+            "The comma separated properties of each item to return , all properties are returned if not specified.";
+
+    public static final String KEY = "fields";
+
+    /**
+     * The id of the Jackson property filter resources are annotated with.
+     */
+    public static final String FILTER = "fields";
+
+    /**
+     * The filters that serialize every property , for mappers serializing resources without a fieldset.
+     */
+    public static final FilterProvider ALL = new SimpleFilterProvider()
+            .addFilter(FILTER, SimpleBeanPropertyFilter.serializeAll());
+
+    private static final Fields NONE = new Fields(ImmutableSet.of());
+
+    private final ImmutableSet<String> fields;
+
+    /**
+     * Creates the fields derived from the query parameters of a request.
+     * @param parameters The request query parameters.
+     */
+    public Fields(final Map<String, String[]> parameters) throws QueryException {
+        this.fields = extractFields(parameters);
+    }
+
+    private Fields(final ImmutableSet<String> fields) {
+        this.fields = fields;
+    }
+
+    /**
+     * The fields of a query that does not specify any , so every property is returned.
+     * @return The empty fields.
+     */
+    public static Fields all() {
+        return NONE;
+    }
+
+    @VisibleForTesting
+    ImmutableSet<String> extractFields(final Map<String, String[]> parameters) throws QueryException {
+        if (parameters == null || !parameters.containsKey(KEY)) {
+            return ImmutableSet.of();
+        } else if (parameters.get(KEY).length > 1) {
+            throw QueryException.multipleParameterValues(KEY);
+        } else if (parameters.get(KEY)[0].isEmpty()) {
+            throw QueryException.emptyParameterValue(KEY);
+        }
+
+        final ImmutableSet.Builder<String> fields = ImmutableSet.builder();
+        for (final String field : parameters.get(KEY)[0].split(",", -1)) {
+            if (field.isBlank()) {
+                throw QueryException.invalidParameterValue(KEY, parameters.get(KEY)[0]);
+            }
+            fields.add(field.strip());
+        }
+        return fields.build();
+    }
+
+    /**
+     * Validates that each field is a property of the given resource.
+     * @param clazz The resource class.
+     * @throws QueryException if a field is not a property of the resource.
+     */
+    public void validate(final Class<?> clazz) throws QueryException {
+        final ImmutableSet<String> properties = properties(clazz);
+        for (final String field : fields) {
+            if (!properties.contains(field)) {
+                throw QueryException.unknownField(field);
+            }
+        }
+    }
+
+    /**
+     * The serialized properties of the given resource , in declaration order.
+     * @param clazz The resource class.
+     * @return The names of the fields that are not static or ignored.
+     */
+    public static ImmutableSet<String> properties(final Class<?> clazz) {
+        final ImmutableSet.Builder<String> properties = ImmutableSet.builder();
+        for (final Field field : clazz.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(JsonIgnore.class)) {
+                properties.add(field.getName());
+            }
+        }
+        return properties.build();
+    }
+
+    /**
+     * Checks if there are no fields i.e every property is returned.
+     * @return true if there are no fields.
+     */
+    public boolean isEmpty() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Checks whether the given property is returned.
+     * @param property The property name.
+     * @return true if there are no fields or the property is one of them.
+     */
+    public boolean includes(final String property) {
+        return fields.isEmpty() || fields.contains(property);
+    }
+
+    /**
+     * The filters that only serialize the fields.
+     * @return The filters for serializing resources.
+     */
+    public FilterProvider filters() {
+        if (fields.isEmpty()) {
+            return ALL;
+        }
+        return new SimpleFilterProvider().addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields));
+    }
+
+    /**
+     * Returns the fields.
+     * @return the fields in the order they were specified , empty if none were.
+     */
+    public ImmutableSet<String> value() {
+        return this.fields;
+    }
+}
@@ -0,0 +1,48 @@
+package com.south.african.data.api.util.request;
+
+import com.south.african.data.api.util.query.QueryException;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The body of a batch get request i.e {"ids": ["...", ...]} , the ids of the resources to retrieve in one request.
+ */
+@Getter
+@Setter
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class BatchGetRequest {
+
+    public static final int MAX_IDS = 10_000;
+
+    private List<String> ids;
+
+    /**
+     * The requested ids without duplicates , in the order they were first requested.
+     * @return The distinct ids.
+     * @throws QueryException if there are no ids , or more than {@link BatchGetRequest#MAX_IDS} distinct ids.
+     */
+    public List<String> distinctIds() throws QueryException {
+        if (ids == null) {
+            throw QueryException.noResourceIdValues();
+        }
+
+        final Set<String> distinct = new LinkedHashSet<>();
+        for (final String id : ids) {
+            if (id != null && !id.isBlank()) {
+                distinct.add(id.trim());
+            }
+        }
+
+        if (distinct.isEmpty()) {
+            throw QueryException.noResourceIdValues();
+        } else if (distinct.size() > MAX_IDS) {
+            throw QueryException.tooManyResourceIds(MAX_IDS);
+        }
+        return new ArrayList<>(distinct);
+    }
+}
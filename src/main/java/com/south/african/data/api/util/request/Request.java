@@ -3,8 +3,10 @@ package com.south.african.data.api.util.request;
 
 import com.south.african.data.api.util.metrics.Metrics;
 import lombok.Getter;
-import java.util.Random;
+
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Request model.
@@ -17,6 +19,7 @@ public final class Request {
     private final String id;
     private final Metrics metrics;
     private final long startTimeMillis = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
     private long endTimeMillis;
 
 
@@ -24,19 +27,17 @@ public final class Request {
      * Constructs a new request with a unique identifier.
      */
     public Request() {
-        this.id = generateType1UUID().toString();
+        this.id = generateType1UUID(startTimeMillis).toString();
         this.metrics = new Metrics();
     }
 
     private static long get64LeastSignificantBitsForVersion1() {
-        final Random random = new Random();
-        final long random63BitLong = random.nextLong() & 0x3FFFFFFFFFFFFFFFL;
+        final long random63BitLong = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL;
         final long variant3BitFlag = 0x8000000000000000L;
         return random63BitLong | variant3BitFlag;
     }
 
-    private static long get64MostSignificantBitsForVersion1() {
-        final long currentTimeMillis = System.currentTimeMillis();
+    private static long get64MostSignificantBitsForVersion1(final long currentTimeMillis) {
         final long timeLow = (currentTimeMillis & 0x0000_0000_FFFF_FFFFL) << 32;
         final long timeMid = ((currentTimeMillis >> 32) & 0xFFFF) << 16;
         final long version = 1 << 12;
@@ -44,12 +45,21 @@ public final class Request {
         return timeLow | timeMid | version | timeHi;
     }
 
-    private static UUID generateType1UUID() {
-        final long most64SigBits = get64MostSignificantBitsForVersion1();
+    private static UUID generateType1UUID(final long currentTimeMillis) {
+        final long most64SigBits = get64MostSignificantBitsForVersion1(currentTimeMillis);
         final long least64SigBits = get64LeastSignificantBitsForVersion1();
         return new UUID(most64SigBits, least64SigBits);
     }
 
+    /**
+     * The time elapsed since the request started , measured on the monotonic clock so it is not skewed by adjustments
+     * of the wall clock.
+     * @return The elapsed time in milliseconds.
+     */
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
     /**
      * Sets the end time of the request in milliseconds to given value.
      * @param endTimeMillis The end time in milliseconds
@@ -0,0 +1,45 @@
+package com.south.african.data.api.util.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The response to a batch get request , the resources in the order their ids were requested and the ids that have no
+ * resource.
+ * @param <T>
+ */
+@RequiredArgsConstructor
+@Getter
+@SuppressWarnings({"checkstyle:javadocvariable"})
+public final class BatchGetResponse<T> {
+
+    private final String requestId;
+    private final List<T> data;
+    private final List<String> notFound;
+
+    /**
+     * Creates the response for the given ids.
+     * @param requestId The request id.
+     * @param ids       The requested ids , without duplicates.
+     * @param found     The resources that were found , keyed by requested id.
+     * @return The response.
+     * @param <T>
+     */
+    public static <T> BatchGetResponse<T> of(final String requestId, final List<String> ids, final Map<String, T> found) {
+        final List<T> data = new ArrayList<>(found.size());
+        final List<String> notFound = new ArrayList<>(ids.size() - found.size());
+        for (final String id : ids) {
+            final T resource = found.get(id);
+            if (resource == null) {
+                notFound.add(id);
+            } else {
+                data.add(resource);
+            }
+        }
+        return new BatchGetResponse<>(requestId, data, notFound);
+    }
+}
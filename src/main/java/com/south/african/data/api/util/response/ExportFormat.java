@@ -0,0 +1,64 @@
+package com.south.african.data.api.util.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+/**
+ * The formats a resource can be exported in , negotiated from the Accept header of the request.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum ExportFormat {
+
+    /**
+     * Newline delimited JSON , one record per line. This is the default format.
+     */
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+
+    /**
+     * Comma separated values with a header row.
+     */
+    CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+    /**
+     * The media type of the format.
+     */
+    private final MediaType mediaType;
+
+    /**
+     * The file extension of the format.
+     */
+    private final String extension;
+
+    /**
+     * Negotiates the export format for the given Accept header.
+     * @param accept The Accept header of the request , may be null.
+     * @return The first acceptable format in order of quality , the default format if none is specifically accepted or
+     *         the header is malformed.
+     */
+    public static ExportFormat negotiate(final String accept) {
+        if (accept == null || accept.isBlank()) {
+            return NDJSON;
+        }
+
+        final List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (final InvalidMediaTypeException e) {
+            return NDJSON;
+        }
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (final MediaType mediaType : accepted) {
+            for (final ExportFormat format : values()) {
+                if (!mediaType.isWildcardType() && mediaType.includes(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,35 @@
+package com.south.african.data.api.util.response;
+
+import com.south.african.data.api.util.query.Query;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Serializes only the fields chosen by the query (see {@link com.south.african.data.api.util.query.parameter.Fields})
+ * of the resources in a response.
+ */
+@ControllerAdvice
+public class FieldsAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(
+            final MappingJacksonValue bodyContainer,
+            final MediaType contentType,
+            final MethodParameter returnType,
+            final ServerHttpRequest request,
+            final ServerHttpResponse response) {
+
+        if (request instanceof ServletServerHttpRequest) {
+            final Object query = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(Query.KEY);
+            if (query != null && !((Query) query).getFields().isEmpty()) {
+                bodyContainer.setFilters(((Query) query).getFields().filters());
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.south.african.data.api.util.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import com.south.african.data.api.util.query.parameter.Fields;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Configuration of the object mapper responses are serialized with.
+ */
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Serializes every field of resources by default , responses to queries that choose their fields override the
+     * filters (see {@link FieldsAdvice}).
+     * @return The customizer setting the default filters.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer fieldsFilterCustomizer() {
+        return builder -> builder.filters(Fields.ALL);
+    }
+
+    /**
+     * Replaces the JSON message converter Spring Boot would configure with one timing the serialization of responses.
+     * @param objectMapper The object mapper configured by Spring Boot.
+     * @param layerMetrics The timers the encoding time is recorded in.
+     * @return The JSON message converter.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(
+            final ObjectMapper objectMapper,
+            final LayerMetrics layerMetrics) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, layerMetrics);
+    }
+}
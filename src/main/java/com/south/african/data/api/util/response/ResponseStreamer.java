@@ -0,0 +1,247 @@
+package com.south.african.data.api.util.response;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import com.south.african.data.api.util.metrics.Metrics;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.parameter.Fields;
+import com.south.african.data.api.util.request.Request;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes unpaginated list responses as a stream when streaming is enabled (data.api.streaming.enabled). The
+ * {@link Response} envelope is written first and the records are then serialized one at a time straight into the
+ * response , which is flushed every chunk of records. Memory per request is bounded by the chunk rather than the whole
+ * list and its JSON body , and clients receive the first records while the rest are still being read. Exports are
+ * always streamed this way , as newline delimited JSON or CSV.
+ */
+@Component
+public class ResponseStreamer {
+
+    /**
+     * Whether unpaginated list responses are streamed.
+     */
+    @Getter
+    @Value("${data.api.streaming.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * The number of records written between flushes , which is also the number of records fetched at a time.
+     */
+    @Getter
+    @Value("${data.api.streaming.chunk-size:500}")
+    private int chunkSize;
+
+    /**
+     * The object mapper used for the other responses , so streamed records are serialized the same way.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * The timers the encoding time is recorded in.
+     */
+    @Autowired
+    private LayerMetrics layerMetrics;
+
+    /**
+     * The mapper for CSV exports.
+     */
+    private final CsvMapper csvMapper = new CsvMapper();
+
+    /**
+     * Checks whether the response to the given query should be streamed.
+     * @param query The query details (filters pagination etc).
+     * @return true if streaming is enabled and the query is not paginated.
+     */
+    public boolean streams(final Query query) {
+        return enabled && !query.isPaginated();
+    }
+
+    /**
+     * Writes the records as the data of a {@link Response} to the given servlet response.
+     * @param request  The request.
+     * @param response The servlet response to write to.
+     * @param clazz    The type of the records.
+     * @param fields   The fields of each record to write.
+     * @param records  The records to write , which are consumed but not closed.
+     * @param <T>
+     * @throws IOException if writing to the response fails.
+     */
+    public <T> void write(
+            final Request request,
+            final HttpServletResponse response,
+            final Class<T> clazz,
+            final Fields fields,
+            final Stream<T> records) throws IOException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+
+        try (final JsonGenerator generator = objectMapper.createGenerator(
+                response.getOutputStream(), JsonEncoding.UTF8)) {
+            final ObjectWriter writer = recordWriter(clazz, fields);
+            generator.writeStartObject();
+            generator.writeStringField("requestId", request.getId());
+            generator.writeArrayFieldStart("data");
+            writeRecords(request, "stream", records, value -> writer.writeValue(generator, value), generator);
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    /**
+     * Writes the records as an export in the given format to the given servlet response.
+     * @param request  The request.
+     * @param response The servlet response to write to.
+     * @param clazz    The type of the records.
+     * @param fields   The fields of each record to write , which are the columns of CSV exports.
+     * @param records  The records to write , which are consumed but not closed.
+     * @param format   The export format.
+     * @param name     The name of the exported resource , used for the file name.
+     * @param <T>
+     * @throws IOException if writing to the response fails.
+     */
+    public <T> void export(
+            final Request request,
+            final HttpServletResponse response,
+            final Class<T> clazz,
+            final Fields fields,
+            final Stream<T> records,
+            final ExportFormat format,
+            final String name) throws IOException {
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(format.getMediaType().toString());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build()
+                .toString());
+
+        if (format == ExportFormat.CSV) {
+            try (final SequenceWriter writer = csvMapper.writer(csvSchema(clazz, fields))
+                    .with(fields.filters())
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .writeValues(response.getOutputStream())) {
+                writeRecords(request, "csv", records, writer::write, writer);
+            }
+            return;
+        }
+
+        try (final JsonGenerator generator = objectMapper.createGenerator(
+                response.getOutputStream(), JsonEncoding.UTF8)) {
+            // Records are separated by new lines rather than the default root value separator.
+            generator.setRootValueSeparator(null);
+            final ObjectWriter writer = recordWriter(clazz, fields);
+            writeRecords(request, "ndjson", records, value -> {
+                writer.writeValue(generator, value);
+                generator.writeRaw('\n');
+            }, generator);
+        }
+    }
+
+    /**
+     * The writer for single records , which does not flush after each record since flushing is done per chunk.
+     * @param clazz  The record class.
+     * @param fields The fields of each record to write.
+     * @return The record writer.
+     */
+    private ObjectWriter recordWriter(final Class<?> clazz, final Fields fields) {
+        return objectMapper.writerFor(clazz)
+                .with(fields.filters())
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * The CSV schema of the given record class , with a header and a column per field.
+     * @param clazz  The record class.
+     * @param fields The fields of each record to write.
+     * @return The CSV schema.
+     */
+    private CsvSchema csvSchema(final Class<?> clazz, final Fields fields) {
+        final CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+        for (final CsvSchema.Column column : csvMapper.schemaFor(clazz)) {
+            if (fields.includes(column.getName())) {
+                schema.addColumn(column.getName(), column.getType());
+            }
+        }
+        return schema.build();
+    }
+
+    /**
+     * Writes the records , flushing every chunk. Only the time spent writing records is recorded as encoding time ,
+     * reading them from the datastore or a snapshot is interleaved with it but not counted.
+     * @param request   The request.
+     * @param operation The encoding operation the time is recorded for.
+     * @param records   The records to write.
+     * @param writer    Writes a record.
+     * @param output    The output to flush.
+     * @param <T>
+     * @throws IOException if writing to the response fails.
+     */
+    private <T> void writeRecords(
+            final Request request,
+            final String operation,
+            final Stream<T> records,
+            final RecordWriter<T> writer,
+            final Flushable output) throws IOException {
+
+        int written = 0;
+        long encodingNanos = 0;
+        try {
+            final Iterator<T> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                final T next = iterator.next();
+                final long start = System.nanoTime();
+                writer.write(next);
+                written++;
+                if (written % chunkSize == 0) {
+                    output.flush();
+                }
+                encodingNanos += System.nanoTime() - start;
+            }
+        } finally {
+            request.getMetrics().addCount("streamedRecords", written);
+            request.getMetrics().addCount(Metrics.RECORDS, written);
+            layerMetrics.record("encoding", operation, encodingNanos);
+        }
+    }
+
+    /**
+     * Writes a single record to the output.
+     * @param <T> The type of the records.
+     */
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+
+        /**
+         * Writes the record.
+         * @param value The record to write.
+         * @throws IOException if writing fails.
+         */
+        void write(T value) throws IOException;
+    }
+}
@@ -0,0 +1,18 @@
+package com.south.african.data.api.util.response;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A response body that was already serialized , written as is by {@link TimedJacksonHttpMessageConverter} instead of
+ * being serialized again. Responses that get cached are serialized once , for both the cache and the client.
+ */
+@Getter
+@RequiredArgsConstructor
+public final class SerializedResponse {
+
+    /**
+     * The serialized response body.
+     */
+    private final byte[] body;
+}
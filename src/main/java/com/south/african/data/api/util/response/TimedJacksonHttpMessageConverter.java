@@ -0,0 +1,52 @@
+package com.south.african.data.api.util.response;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.south.african.data.api.util.metrics.LayerMetrics;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * The JSON message converter of responses , recording the time spent serializing each response body as encoding time
+ * (see {@link LayerMetrics}). Streamed responses and exports are serialized by {@link ResponseStreamer} instead , and
+ * a {@link SerializedResponse} is written as is.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * The timers the encoding time is recorded in.
+     */
+    private final LayerMetrics layerMetrics;
+
+    /**
+     * Creates the converter.
+     * @param objectMapper The object mapper responses are serialized with.
+     * @param layerMetrics The timers the encoding time is recorded in.
+     */
+    public TimedJacksonHttpMessageConverter(final ObjectMapper objectMapper, final LayerMetrics layerMetrics) {
+        super(objectMapper);
+        this.layerMetrics = layerMetrics;
+    }
+
+    @Override
+    protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException {
+
+        // The fields filters of a serialized response were applied when it was serialized , see FieldsAdvice.
+        final Object value = object instanceof MappingJacksonValue ? ((MappingJacksonValue) object).getValue() : object;
+        if (value instanceof SerializedResponse) {
+            outputMessage.getBody().write(((SerializedResponse) value).getBody());
+            return;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            layerMetrics.record("encoding", "json", System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.south.african.data.api.util.server;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves each request on its own virtual thread instead of a thread of Tomcat's pool , when
+ * data.api.virtual-threads.enabled is set. A virtual thread blocked on the database or the network unmounts from its
+ * carrier , so the number of requests in flight is no longer capped by server.tomcat.threads.max but by the
+ * concurrency limits and the connection pool. Virtual threads need JDK 21 , the executor is looked up reflectively so
+ * the build keeps targeting Java 11 , and requests stay on platform threads on older runtimes.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(value = "data.api.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    /**
+     * Replaces the executor of Tomcat's protocol handler with a virtual thread per task executor.
+     * @return The customizer setting the executor.
+     */
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsCustomizer() {
+        return protocolHandler -> {
+            final ExecutorService executor = virtualThreadPerTaskExecutor();
+            if (executor != null) {
+                protocolHandler.setExecutor(executor);
+                log.info("Serving requests on virtual threads");
+            }
+        };
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task.
+     * @return The executor , null if the runtime has no virtual threads.
+     */
+    static ExecutorService virtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException e) {
+            log.warn("Virtual threads need Java 21 , running on Java {} , serving requests on platform threads",
+                    Runtime.version().feature());
+            return null;
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create the virtual thread executor", e);
+        }
+    }
+}
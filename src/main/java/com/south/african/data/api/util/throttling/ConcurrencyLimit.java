@@ -0,0 +1,130 @@
+package com.south.african.data.api.util.throttling;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An adaptive limit on the number of requests served at once , adjusted by additive increase and multiplicative
+ * decrease (AIMD) on their latency. While requests complete within the latency threshold and the limit is being used ,
+ * it grows by one per request. A request that does not shrinks it by the backoff ratio , so a spike is shed within a
+ * few slow requests instead of queueing until every request is slow. The limit shrinks at most once per window of the
+ * requests in flight when it shrank , since one stall i.e a GC pause makes all of them slow at once.
+ */
+@SuppressWarnings("checkstyle:javadocvariable")
+public final class ConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdMillis;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * The current limit , fractional so it can shrink by a ratio. Read without locking , updated under the lock of the
+     * limit.
+     */
+    private volatile double limit;
+
+    /**
+     * The number of requests in flight when the limit last shrank that have not been released yet , their latency does
+     * not shrink the limit again. Updated under the lock of the limit.
+     */
+    private int inFlightAtDecrease;
+
+    /**
+     * Creates a limit.
+     * @param initialLimit           The limit to start with.
+     * @param minLimit               The limit never shrinks below this.
+     * @param maxLimit               The limit never grows above this.
+     * @param latencyThresholdMillis Requests slower than this shrink the limit.
+     * @param backoffRatio           The ratio the limit is multiplied by when it shrinks.
+     */
+    public ConcurrencyLimit(
+            final int initialLimit,
+            final int minLimit,
+            final int maxLimit,
+            final long latencyThresholdMillis,
+            final double backoffRatio) {
+
+        if (minLimit < 1 || minLimit > maxLimit || backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("Invalid concurrency limit , expected 1 <= min <= max and 0 < backoff < 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdMillis = latencyThresholdMillis;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Takes a slot for a request , if there is one below the limit.
+     * @return true if the request can be served , it then has to be released.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Gives back the slot of a request that was served , adjusting the limit on its latency.
+     * @param latencyMillis The latency of the request.
+     */
+    public void release(final long latencyMillis) {
+        final int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            final boolean afterDecrease = inFlightAtDecrease == 0;
+            if (!afterDecrease) {
+                inFlightAtDecrease--;
+            }
+            if (latencyMillis > latencyThresholdMillis) {
+                if (afterDecrease) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    inFlightAtDecrease = current - 1;
+                }
+            } else if (current * 2 >= limit) {
+                // Only grow while at least half the limit is used , otherwise the limit says nothing about the load.
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+
+    /**
+     * Gives back the slot of a request whose latency says nothing about the load i.e a long running export.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * The current limit.
+     * @return The number of requests that can be served at once.
+     */
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * The number of requests being served.
+     * @return The requests that have a slot.
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The number of requests rejected so far.
+     * @return The requests that found no slot.
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+}
@@ -0,0 +1,73 @@
+package com.south.african.data.api.util.throttling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * The adaptive concurrency limits configuration (data.api.concurrency) , with separate limits for lookups by id and for
+ * list queries , see {@link ConcurrencyLimit}.
+ */
+@Component
+@ConfigurationProperties(prefix = "data.api.concurrency")
+@Getter
+@Setter
+@SuppressWarnings("checkstyle:javadocvariable")
+public class ConcurrencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * The ratio a limit is multiplied by when a request is slower than its latency threshold.
+     */
+    private double backoffRatio = 0.9;
+
+    /**
+     * The number of seconds clients are told to wait before retrying a rejected request.
+     */
+    private long retryAfterSeconds = 1;
+
+    private Limit lookup = new Limit(50, 5, 100, Duration.ofMillis(50));
+
+    private Limit list = new Limit(20, 2, 60, Duration.ofMillis(500));
+
+    /**
+     * The bounds and latency threshold of a limit.
+     */
+    @Getter
+    @Setter
+    public static class Limit {
+
+        private int initialLimit;
+        private int minLimit;
+        private int maxLimit;
+        private Duration latencyThreshold;
+
+        /**
+         * Creates the default limit.
+         * @param initialLimit     The limit to start with.
+         * @param minLimit         The smallest limit.
+         * @param maxLimit         The largest limit.
+         * @param latencyThreshold Requests slower than this shrink the limit.
+         */
+        Limit(final int initialLimit, final int minLimit, final int maxLimit, final Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+
+        /**
+         * Creates the concurrency limit.
+         * @param backoffRatio The ratio the limit is multiplied by when it shrinks.
+         * @return The limit.
+         */
+        public ConcurrencyLimit create(final double backoffRatio) {
+            return new ConcurrencyLimit(
+                    initialLimit, minLimit, maxLimit, latencyThreshold.toMillis(), backoffRatio);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.south.african.data.api.util.throttling;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.Hospital;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.repository.BaseRepository;
+import com.south.african.data.api.util.filter.FilterMetadata;
+import com.south.african.data.api.util.filter.FilterRegistry;
+import com.south.african.data.api.util.query.Query;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Estimates the cost of a request in throttling tokens , from the number of records it reads. A token pays for up to
+ * data.api.throttling.cost.records-per-token records , so point lookups and small pages cost a single token while an
+ * unfiltered list of every school costs the whole bucket.
+ */
+@Component
+public class CostEstimator {
+
+    /**
+     * The share of records a single value of a filter on a non key attribute is assumed to match. The datasets have a
+     * handful of provinces , phases , sectors etc , so a value usually matches a tenth of the records or fewer.
+     */
+    static final double FILTER_VALUE_SELECTIVITY = 0.1;
+
+    /**
+     * The resources keyed by the first segment of their paths.
+     */
+    private static final Map<String, Class<?>> RESOURCES = ImmutableMap.of(
+            "schools", School.class,
+            "hospitals", Hospital.class);
+
+    /**
+     * The number of records a token pays for.
+     */
+    @Value("${data.api.throttling.cost.records-per-token:100}")
+    private int recordsPerToken;
+
+    /**
+     * The repository the records are counted in.
+     */
+    @Autowired
+    private BaseRepository repository;
+
+    /**
+     * Estimates the number of records the given request reads. Lookups by id in the path are a single record , batch
+     * gets are charged once their ids are known.
+     * @param path  The request path.
+     * @param query The query of the request.
+     * @return The estimated number of records.
+     */
+    public long estimateRecords(final String path, final Query query) {
+        final String[] segments = path.split("/");
+        final Class<?> resource = segments.length > 1 ? RESOURCES.get(segments[1]) : null;
+        if (resource == null || (segments.length > 2 && !"export".equals(segments[2]))) {
+            return 1;
+        }
+        return estimateRecords(resource, repository.count(resource, resource.getSimpleName()), query);
+    }
+
+    /**
+     * Estimates the number of records a list query of the given resource reads. Filters on key attributes match at
+     * most a record per value , other filters match {@link CostEstimator#FILTER_VALUE_SELECTIVITY} of the records per
+     * value. Paginated queries read at most a page.
+     * @param resource The resource class.
+     * @param records  The number of records of the resource.
+     * @param query    The query.
+     * @return The estimated number of records.
+     */
+    static long estimateRecords(final Class<?> resource, final long records, final Query query) {
+        long estimate = records;
+        double selectivity = 1;
+        if (query.getFilters() != null) {
+            final Map<String, FilterMetadata> metadata = FilterRegistry.metadata(resource);
+            for (final Map.Entry<String, ImmutableSet<String>> filter : query.getFilters().entrySet()) {
+                final FilterMetadata filterMetadata = metadata.get(filter.getKey());
+                if (filterMetadata == null) {
+                    continue;
+                } else if (filterMetadata.isId() || filterMetadata.isIndexed()) {
+                    estimate = Math.min(estimate, filter.getValue().size());
+                } else {
+                    selectivity *= Math.min(1, filter.getValue().size() * FILTER_VALUE_SELECTIVITY);
+                }
+            }
+        }
+
+        estimate = Math.min(estimate, Math.round(records * selectivity));
+        return query.isPaginated() ? Math.min(estimate, query.getMaxResults().value()) : estimate;
+    }
+
+    /**
+     * The cost of reading the given number of records.
+     * @param records The number of records.
+     * @return The number of tokens , at least 1.
+     */
+    public long tokens(final long records) {
+        return Math.max(1, (records + recordsPerToken - 1) / recordsPerToken);
+    }
+}
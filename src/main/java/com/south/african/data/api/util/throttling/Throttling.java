@@ -1,26 +1,204 @@
 package com.south.african.data.api.util.throttling;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.github.bucket4j.local.LocalBucketBuilder;
+import io.github.bucket4j.local.SynchronizationStrategy;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * The rate limits of each client. Every client has its own bucket per tier , so a client exceeding its limits does not
+ * affect others. Buckets are held in a Caffeine cache bounded by data.api.throttling.max-clients and evicted once idle
+ * for data.api.throttling.idle-expiry. The cache is a striped concurrent map , and the state of a bucket is updated with
+ * compare and swap , so requests of different clients never contend and requests of the same client never block.
+ */
+@Component
+public class Throttling {
 
-@SuppressWarnings({"checkstyle:javadocvariable", "checkstyle:missingjavadoctype", "checkstyle:missingjavadocmethod"})
-public final class Throttling {
+    /**
+     * The request attribute holding the tier of a throttled request.
+     */
+    public static final String TIER_KEY = "throttlingTier";
 
-    private static final int DEFAULT_MINUTELY_BUCKET_CAPACITY = 100;
-    private static final int DEFAULT_MINUTELY_REFILL_RATE = 100;
+    /**
+     * The request attribute holding the bucket a throttled request was admitted by.
+     */
+    public static final String BUCKET_KEY = "throttlingBucket";
 
-    private Throttling() { }
+    /**
+     * The limits of the default tier when none are configured.
+     */
+    private static final List<String> DEFAULT_LIMITS = ImmutableList.of("100/1m", "20/5s");
 
-    public static Bucket defaultThrottlingBucket() {
-        final Bucket bucket = Bucket.builder()
-                .addLimit(Bandwidth.classic(DEFAULT_MINUTELY_BUCKET_CAPACITY,
-                        Refill.intervally(DEFAULT_MINUTELY_REFILL_RATE, Duration.ofMinutes(1))))
-                .addLimit(Bandwidth.classic(20, Refill.intervally(20, Duration.ofSeconds(5))))
+    /**
+     * The tiers , in the order their paths are matched.
+     */
+    private final List<Tier> tiers = new ArrayList<>();
+
+    /**
+     * The tier of the requests that do not match the paths of any other tier.
+     */
+    private final Tier defaultTier;
+
+    /**
+     * The buckets keyed by tier and client.
+     */
+    private final Cache<String, Bucket> buckets;
+
+    /**
+     * The client keys clients are identified by , see {@link ThrottlingProperties#getClientKeys()}.
+     */
+    private final ImmutableSet<String> clientKeys;
+
+    /**
+     * Matches request paths against the paths of the tiers.
+     */
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    /**
+     * Creates the tiers and the bucket registry from the given configuration.
+     * @param properties The throttling configuration.
+     */
+    public Throttling(final ThrottlingProperties properties) {
+        Tier defaults = null;
+        for (final Map.Entry<String, ThrottlingProperties.Tier> tier : properties.getTiers().entrySet()) {
+            if (ThrottlingProperties.DEFAULT_TIER.equals(tier.getKey())) {
+                defaults = new Tier(tier.getKey(), ImmutableList.of(), tier.getValue().getLimits());
+            } else {
+                tiers.add(new Tier(tier.getKey(), tier.getValue().getPaths(), tier.getValue().getLimits()));
+            }
+        }
+        this.defaultTier = defaults == null
+                ? new Tier(ThrottlingProperties.DEFAULT_TIER, ImmutableList.of(), DEFAULT_LIMITS)
+                : defaults;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxClients())
+                .expireAfterAccess(properties.getIdleExpiry())
                 .build();
-        return bucket;
+        this.clientKeys = ImmutableSet.copyOf(properties.getClientKeys());
+    }
+
+    /**
+     * Retrieves the tier of the given request path.
+     * @param path The request path.
+     * @return The first tier with a path pattern matching the path , the default tier if none.
+     */
+    public Tier tier(final String path) {
+        for (final Tier tier : tiers) {
+            for (final String pattern : tier.paths) {
+                if (matcher.match(pattern, path)) {
+                    return tier;
+                }
+            }
+        }
+        return defaultTier;
+    }
+
+    /**
+     * Identifies a client. Only the configured client keys are honoured , since keys are not authenticated yet.
+     * @param key     The client key sent by the client , null if none.
+     * @param address The address of the client.
+     * @return The client identifier , of the key if it is configured , of the address otherwise.
+     */
+    public String client(final String key, final String address) {
+        return key != null && clientKeys.contains(key) ? "key:" + key : "address:" + address;
+    }
+
+    /**
+     * Retrieves the bucket of the given client in the given tier , creating it if the client has none.
+     * @param tier   The tier of the request.
+     * @param client The client identifier.
+     * @return The bucket of the client.
+     */
+    public Bucket bucket(final Tier tier, final String client) {
+        return buckets.get(tier.name + ' ' + client, key -> tier.newBucket());
+    }
+
+    /**
+     * The number of buckets held.
+     * @return The approximate number of client buckets.
+     */
+    public long size() {
+        return buckets.estimatedSize();
+    }
+
+    /**
+     * Parses a limit of the form capacity/period i.e 100/1m.
+     * @param limit The limit.
+     * @return The bandwidth refilling the capacity every period.
+     */
+    static Bandwidth bandwidth(final String limit) {
+        final String[] parts = limit.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid limit : " + limit + " , expected capacity/period i.e 100/1m");
+        }
+        final long capacity = Long.parseLong(parts[0].strip());
+        final Duration period = DurationStyle.detectAndParse(parts[1].strip());
+        return Bandwidth.classic(capacity, Refill.intervally(capacity, period));
+    }
+
+    /**
+     * A tier of limits , applying to the requests to some paths.
+     */
+    @SuppressWarnings("checkstyle:javadocvariable")
+    public static final class Tier {
+
+        private final String name;
+        private final List<String> paths;
+        private final List<Bandwidth> limits = new ArrayList<>();
+
+        /**
+         * Creates a tier.
+         * @param name   The tier name.
+         * @param paths  The path patterns of the tier.
+         * @param limits The limits of the tier , as capacity/period.
+         */
+        Tier(final String name, final List<String> paths, final List<String> limits) {
+            if (limits.isEmpty()) {
+                throw new IllegalArgumentException("Throttling tier : " + name + " , has no limits");
+            }
+            this.name = name;
+            this.paths = ImmutableList.copyOf(paths);
+            for (final String limit : limits) {
+                this.limits.add(bandwidth(limit));
+            }
+        }
+
+        private Bucket newBucket() {
+            final LocalBucketBuilder builder = Bucket.builder()
+                    .withSynchronizationStrategy(SynchronizationStrategy.LOCK_FREE);
+            for (final Bandwidth limit : limits) {
+                builder.addLimit(limit);
+            }
+            return builder.build();
+        }
+
+        /**
+         * The tier name.
+         * @return The name of the tier.
+         */
+        public String name() {
+            return name;
+        }
+
+        /**
+         * The capacity of the tier , reported to clients as their limit.
+         * @return The smallest capacity of the limits of the tier.
+         */
+        public long capacity() {
+            return limits.stream().mapToLong(Bandwidth::getCapacity).min().orElse(0);
+        }
     }
 }
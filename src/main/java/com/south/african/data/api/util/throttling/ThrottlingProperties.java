@@ -0,0 +1,75 @@
+package com.south.african.data.api.util.throttling;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The throttling configuration (data.api.throttling) i.e the tiers of limits and how clients are told apart.
+ */
+@Component
+@ConfigurationProperties(prefix = "data.api.throttling")
+@Getter
+@Setter
+@SuppressWarnings("checkstyle:javadocvariable")
+public class ThrottlingProperties {
+
+    /**
+     * The tier of the requests that do not match the paths of any other tier.
+     */
+    public static final String DEFAULT_TIER = "default";
+
+    private boolean enabled = true;
+
+    /**
+     * The header identifying a client , clients without it are identified by their address.
+     */
+    private String clientHeader = "X-API-Key";
+
+    /**
+     * The client keys honoured until keys are authenticated , clients sending any other key are identified by their
+     * address , so rotating keys does not get a client a fresh bucket.
+     */
+    private List<String> clientKeys = new ArrayList<>();
+
+    /**
+     * The maximum number of client buckets held , the least recently used are evicted first.
+     */
+    private long maxClients = 100_000;
+
+    /**
+     * How long the bucket of an idle client is held. Should be at least the longest limit period , so idle clients do
+     * not get a full bucket early.
+     */
+    private Duration idleExpiry = Duration.ofMinutes(10);
+
+    /**
+     * The tiers keyed by name , a request is limited by the first tier matching its path or the default tier.
+     */
+    private Map<String, Tier> tiers = new LinkedHashMap<>();
+
+    /**
+     * The limits of the requests to some paths.
+     */
+    @Getter
+    @Setter
+    public static class Tier {
+
+        /**
+         * The path patterns of the tier , ignored for the default tier.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * The limits each client has to satisfy , as capacity/period i.e 100/1m for 100 requests per minute.
+         */
+        private List<String> limits = new ArrayList<>();
+    }
+}
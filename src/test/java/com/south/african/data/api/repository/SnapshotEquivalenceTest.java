@@ -0,0 +1,292 @@
+package com.south.african.data.api.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.Application;
+import com.south.african.data.api.entity.Hospital;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.repository.model.Page;
+import com.south.african.data.api.repository.snapshot.SnapshotStore;
+import com.south.african.data.api.util.encoding.Pagination;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+
+/**
+ * Reads the same queries from the snapshot and from the datastore , through {@link BaseRepository} , and checks both
+ * return the same records and the same cursors.
+ */
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class SnapshotEquivalenceTest {
+
+    private static final Set<String> ALL_FIELDS = ImmutableSet.of();
+
+    private static final List<Map<String, ImmutableSet<String>>> HOSPITAL_FILTERS = ImmutableList.of(
+            ImmutableMap.of(),
+            ImmutableMap.of("province", ImmutableSet.of("Gauteng")),
+            ImmutableMap.of(
+                    "province", ImmutableSet.of("Gauteng", "KwaZuluNatal", "Limpopo"),
+                    "category", ImmutableSet.of("District Hospital", "Regional Hospital")),
+            ImmutableMap.of("category", ImmutableSet.of("No Such Category")));
+
+    private static final List<Map<String, ImmutableSet<String>>> SCHOOL_FILTERS = ImmutableList.of(
+            ImmutableMap.of(),
+            ImmutableMap.of("postalCode", ImmutableSet.of("null")),
+            ImmutableMap.of("postalCode", ImmutableSet.of("null", "700", "8001")),
+            ImmutableMap.of("specialization", ImmutableSet.of("null", "MATHS")),
+            ImmutableMap.of(
+                    "province", ImmutableSet.of("Gauteng", "Western Cape", "Eastern Cape"),
+                    "phase", ImmutableSet.of("PRIMARY", "COMBINED"),
+                    "specialization", ImmutableSet.of("null")));
+
+    private static ConfigurableApplicationContext context;
+
+    private static BaseRepository repository;
+
+    private static SnapshotStore snapshots;
+
+    @BeforeClass
+    public static void setup() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:snapshot-equivalence",
+                        "spring.sql.init.data-locations=classpath:snapshot-test-data.sql",
+                        "logging.config=classpath:log4j2-console.xml",
+                        "data.api.snapshot.enabled=true")
+                .run();
+        repository = context.getBean(BaseRepository.class);
+        snapshots = context.getBean(SnapshotStore.class);
+        Assert.assertTrue(snapshots.get(School.class).isPresent());
+        Assert.assertTrue(snapshots.get(Hospital.class).isPresent());
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Runs the given read against the datastore , by swapping the loaded snapshots for an empty store.
+     * @param read The read.
+     * @return The result of the read.
+     * @param <R>
+     * @throws Exception if the read fails.
+     */
+    private static <R> R fromDatastore(final Callable<R> read) throws Exception {
+        ReflectionTestUtils.setField(repository, "snapshots", new SnapshotStore());
+        try {
+            return read.call();
+        } finally {
+            ReflectionTestUtils.setField(repository, "snapshots", snapshots);
+        }
+    }
+
+    /**
+     * The attribute values of each record , in declaration order , so records can be compared.
+     * @param records The records.
+     * @return The attribute values of each record.
+     */
+    private static List<List<Object>> rows(final List<?> records) {
+        final List<List<Object>> rows = new ArrayList<>();
+        for (final Object record : records) {
+            final List<Object> row = new ArrayList<>();
+            for (final Field field : record.getClass().getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    row.add(ReflectionTestUtils.getField(record, field.getName()));
+                }
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static List<List<Object>> row(final Optional<?> record) {
+        return rows(record.isPresent() ? ImmutableList.of(record.get()) : ImmutableList.of());
+    }
+
+    /**
+     * The rows of the given records sorted by identifier , for reads whose datastore order is unspecified.
+     * @param records The records , whose first attribute is the identifier.
+     * @return The sorted attribute values of each record.
+     */
+    private static List<List<Object>> sortedRows(final List<?> records) {
+        final List<List<Object>> rows = rows(records);
+        rows.sort(Comparator.comparing((final List<Object> row) -> (Long) row.get(0)));
+        return rows;
+    }
+
+    private static <T> void assertSamePages(
+            final Class<T> clazz,
+            final String cursorColumn,
+            final Function<T, Long> cursorExtractor,
+            final Map<String, ImmutableSet<String>> filters,
+            final int maxResults) throws Exception {
+
+        Long cursor = null;
+        int pages = 0;
+        do {
+            final Long previous = cursor;
+            final Page<T> snapshot = getPage(clazz, previous, cursorColumn, maxResults, cursorExtractor, filters);
+            final Page<T> datastore = fromDatastore(
+                    () -> getPage(clazz, previous, cursorColumn, maxResults, cursorExtractor, filters));
+
+            Assert.assertEquals(filters + " page " + pages, rows(datastore.getData()), rows(snapshot.getData()));
+            Assert.assertEquals(filters + " page " + pages, datastore.getCursor(), snapshot.getCursor());
+            Assert.assertTrue(snapshot.getData().size() <= maxResults);
+            cursor = snapshot.getCursor() == null
+                    ? null
+                    : Long.parseLong(Pagination.decodeToken(
+                            snapshot.getCursor(), clazz.getSimpleName(), filters));
+            pages++;
+        } while (cursor != null);
+    }
+
+    private static <T> Page<T> getPage(
+            final Class<T> clazz,
+            final Long cursor,
+            final String cursorColumn,
+            final int maxResults,
+            final Function<T, Long> cursorExtractor,
+            final Map<String, ImmutableSet<String>> filters) throws JsonProcessingException {
+        return repository.getPage(clazz, clazz.getSimpleName(), cursor, cursorColumn, maxResults, cursorExtractor,
+                filters, ALL_FIELDS);
+    }
+
+    @Test
+    public void getAll_unfiltered() throws Exception {
+        Assert.assertEquals(
+                sortedRows(fromDatastore(() -> repository.getAll(Hospital.class, "Hospital"))),
+                rows(repository.getAll(Hospital.class, "Hospital")));
+        Assert.assertEquals(
+                sortedRows(fromDatastore(() -> repository.getAll(School.class, "School"))),
+                rows(repository.getAll(School.class, "School")));
+    }
+
+    @Test
+    public void getAll_filtered() throws Exception {
+        for (final Map<String, ImmutableSet<String>> filters : HOSPITAL_FILTERS) {
+            Assert.assertEquals(
+                    filters.toString(),
+                    sortedRows(fromDatastore(() -> repository.getAll(Hospital.class, "Hospital", filters, ALL_FIELDS))),
+                    rows(repository.getAll(Hospital.class, "Hospital", filters, ALL_FIELDS)));
+        }
+        for (final Map<String, ImmutableSet<String>> filters : SCHOOL_FILTERS) {
+            Assert.assertEquals(
+                    filters.toString(),
+                    sortedRows(fromDatastore(() -> repository.getAll(School.class, "School", filters, ALL_FIELDS))),
+                    rows(repository.getAll(School.class, "School", filters, ALL_FIELDS)));
+        }
+    }
+
+    @Test
+    public void getAll_null_filter_values() throws Exception {
+        final Map<String, ImmutableSet<String>> filters = ImmutableMap.of("postalCode", ImmutableSet.of("null"));
+        final List<School> schools = repository.getAll(School.class, "School", filters, ALL_FIELDS);
+        Assert.assertEquals(3, schools.size());
+        schools.forEach(school -> Assert.assertNull(school.getPostalCode()));
+    }
+
+    @Test
+    public void getPage_hospitals() throws Exception {
+        for (final Map<String, ImmutableSet<String>> filters : HOSPITAL_FILTERS) {
+            assertSamePages(Hospital.class, "hospitalId", Hospital::getHospitalId, filters, 100);
+        }
+    }
+
+    @Test
+    public void getPage_schools() throws Exception {
+        for (final Map<String, ImmutableSet<String>> filters : SCHOOL_FILTERS) {
+            assertSamePages(School.class, "id", School::getId, filters, 2);
+        }
+    }
+
+    @Test
+    public void getPage_last_page() throws Exception {
+        // The hospitals fill exactly 9 pages of 100 , so the last page is full and has no cursor.
+        final int hospitals = repository.getAll(Hospital.class, "Hospital").size();
+        assertSamePages(Hospital.class, "hospitalId", Hospital::getHospitalId, ImmutableMap.of(), hospitals / 9);
+        assertSamePages(Hospital.class, "hospitalId", Hospital::getHospitalId, ImmutableMap.of(), hospitals);
+        assertSamePages(Hospital.class, "hospitalId", Hospital::getHospitalId, ImmutableMap.of(), hospitals + 1);
+
+        final Page<Hospital> last = getPage(Hospital.class, (long) hospitals - 1, "hospitalId", 100,
+                Hospital::getHospitalId, ImmutableMap.of());
+        Assert.assertEquals(1, last.getData().size());
+        Assert.assertNull(last.getCursor());
+    }
+
+    @Test
+    public void getById() throws Exception {
+        for (final Object id : ImmutableList.of("1", 450L, "900", "0", "901", "-1", "abc", "1.5")) {
+            final Optional<Hospital> hospital = repository.getById(Hospital.class, "Hospital", id, "hospitalId");
+            final Optional<Hospital> expected = fromDatastore(
+                    () -> repository.getById(Hospital.class, "Hospital", id, "hospitalId"));
+            Assert.assertEquals(id.toString(), row(expected), row(hospital));
+        }
+        for (final Object id : ImmutableList.of("700110101", 500210105L, "300510110", "700110100", "abc", "")) {
+            final Optional<School> school = repository.getById(School.class, "School", id, "schoolId");
+            final Optional<School> expected = fromDatastore(
+                    () -> repository.getById(School.class, "School", id, "schoolId"));
+            Assert.assertEquals(id.toString(), row(expected), row(school));
+        }
+        Assert.assertTrue(repository.getById(School.class, "School", "700110101", "schoolId").isPresent());
+        Assert.assertTrue(repository.getById(School.class, "School", "700110100", "schoolId").isEmpty());
+    }
+
+    @Test
+    public void getByIds() throws Exception {
+        final Set<String> hospitalIds = ImmutableSet.of("3", "1", "2", "900", "901", "0", "abc");
+        Assert.assertEquals(
+                sortedRows(fromDatastore(() -> repository.getByIds(Hospital.class, "Hospital", "hospitalId",
+                        hospitalIds))),
+                rows(repository.getByIds(Hospital.class, "Hospital", "hospitalId", hospitalIds)));
+
+        final Set<String> schoolIds = ImmutableSet.of("300510110", "700110101", "700110100", "-1", "abc");
+        Assert.assertEquals(
+                sortedRows(fromDatastore(() -> repository.getByIds(School.class, "School", "schoolId", schoolIds))),
+                rows(repository.getByIds(School.class, "School", "schoolId", schoolIds)));
+        Assert.assertEquals(2, repository.getByIds(School.class, "School", "schoolId", schoolIds).size());
+
+        final Set<String> unknown = ImmutableSet.of("700110100", "abc");
+        Assert.assertTrue(repository.getByIds(School.class, "School", "schoolId", unknown).isEmpty());
+        Assert.assertTrue(fromDatastore(() -> repository.getByIds(School.class, "School", "schoolId", unknown))
+                .isEmpty());
+    }
+
+    @Test
+    public void getByIds_batch() throws Exception {
+        final List<String> ids = ImmutableList.of("700110102", "abc", "100310106", "700110100", "100310106");
+        final Map<String, School> schools = repository.getByIds(School.class, "School", "schoolId", ids,
+                School::getSchoolId);
+        final Map<String, School> expected = fromDatastore(
+                () -> repository.getByIds(School.class, "School", "schoolId", ids, School::getSchoolId));
+
+        Assert.assertEquals(ImmutableList.of("700110102", "100310106"), new ArrayList<>(schools.keySet()));
+        Assert.assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(schools.keySet()));
+        Assert.assertEquals(rows(new ArrayList<>(expected.values())), rows(new ArrayList<>(schools.values())));
+    }
+}
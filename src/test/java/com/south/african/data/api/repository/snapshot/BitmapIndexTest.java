@@ -0,0 +1,94 @@
+package com.south.african.data.api.repository.snapshot;
+
+import com.google.common.collect.ImmutableList;
+import com.south.african.data.api.util.filter.FilterPredicate;
+import org.junit.Assert;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class BitmapIndexTest {
+
+    private static final Object[] PROVINCES =
+            {"Gauteng", "Limpopo", null, "Gauteng", "Free State", null, "Limpopo", "Gauteng"};
+
+    private static final Object[] POSTAL_CODES = {2001, 700, 2001, null, 9301, 2001, null, 700};
+
+    private static final BitmapIndex PROVINCE = BitmapIndex.of(
+            Column.of(String.class, PROVINCES), PROVINCES.length, Snapshot.DEFAULT_MAX_INDEX_CARDINALITY);
+
+    private static final BitmapIndex POSTAL_CODE = BitmapIndex.of(
+            Column.of(Integer.class, POSTAL_CODES), POSTAL_CODES.length, Snapshot.DEFAULT_MAX_INDEX_CARDINALITY);
+
+    private static FilterPredicate predicate(final String attribute, final boolean matchesNull, final Object... values) {
+        return new FilterPredicate(attribute, ImmutableList.copyOf(values), matchesNull);
+    }
+
+    @Test
+    public void select_value() {
+        Assert.assertEquals(RoaringBitmap.bitmapOf(0, 3, 7), PROVINCE.select(predicate("province", false, "Gauteng")));
+        Assert.assertEquals(RoaringBitmap.bitmapOf(1, 7), POSTAL_CODE.select(predicate("postalCode", false, 700)));
+    }
+
+    @Test
+    public void select_or_within_attribute() {
+        Assert.assertEquals(
+                RoaringBitmap.bitmapOf(0, 1, 3, 6, 7),
+                PROVINCE.select(predicate("province", false, "Gauteng", "Limpopo")));
+        Assert.assertEquals(
+                RoaringBitmap.bitmapOf(0, 1, 3, 6, 7),
+                PROVINCE.select(predicate("province", false, "Gauteng", "Limpopo", "Northern Cape")));
+    }
+
+    @Test
+    public void select_and_across_attributes() {
+        final RoaringBitmap rows = PROVINCE.select(predicate("province", false, "Gauteng", "Limpopo"));
+        rows.and(POSTAL_CODE.select(predicate("postalCode", false, 2001)));
+        Assert.assertEquals(RoaringBitmap.bitmapOf(0), rows);
+
+        final RoaringBitmap none = PROVINCE.select(predicate("province", false, "Free State"));
+        none.and(POSTAL_CODE.select(predicate("postalCode", false, 700)));
+        Assert.assertTrue(none.isEmpty());
+    }
+
+    @Test
+    public void select_nulls() {
+        Assert.assertEquals(RoaringBitmap.bitmapOf(2, 5), PROVINCE.select(predicate("province", true)));
+        Assert.assertEquals(
+                RoaringBitmap.bitmapOf(2, 4, 5),
+                PROVINCE.select(predicate("province", true, "Free State")));
+        Assert.assertEquals(
+                RoaringBitmap.bitmapOf(3, 6),
+                POSTAL_CODE.select(predicate("postalCode", true)));
+
+        final RoaringBitmap rows = PROVINCE.select(predicate("province", true, "Limpopo"));
+        rows.and(POSTAL_CODE.select(predicate("postalCode", true, 2001)));
+        Assert.assertEquals(RoaringBitmap.bitmapOf(2, 5, 6), rows);
+    }
+
+    @Test
+    public void select_unknown_value() {
+        Assert.assertTrue(PROVINCE.select(predicate("province", false, "Northern Cape")).isEmpty());
+        Assert.assertTrue(PROVINCE.select(predicate("province", false)).isEmpty());
+    }
+
+    @Test
+    public void select_returns_a_copy() {
+        PROVINCE.select(predicate("province", false, "Gauteng")).clear();
+        PROVINCE.select(predicate("province", true)).clear();
+        Assert.assertEquals(RoaringBitmap.bitmapOf(0, 3, 7), PROVINCE.select(predicate("province", false, "Gauteng")));
+        Assert.assertEquals(RoaringBitmap.bitmapOf(2, 5), PROVINCE.select(predicate("province", true)));
+    }
+
+    @Test
+    public void of_cardinality_cutoff() {
+        final Column provinces = Column.of(String.class, PROVINCES);
+        Assert.assertNotNull(BitmapIndex.of(provinces, PROVINCES.length, 3));
+        Assert.assertNull(BitmapIndex.of(provinces, PROVINCES.length, 2));
+    }
+}
@@ -0,0 +1,109 @@
+package com.south.african.data.api.repository.snapshot;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class KeyIndexTest {
+
+    private static KeyIndex index(final Object... keys) {
+        return KeyIndex.of(LongColumn.of(Long.class, keys), keys.length);
+    }
+
+    private static int capacity(final KeyIndex index) {
+        return (int) (index.sizeInBytes() / (Long.BYTES + Integer.BYTES));
+    }
+
+    @Test
+    public void row_hits() {
+        final KeyIndex index = index(918510576L, 100000038L, 0L, -1L, Long.MIN_VALUE, Long.MAX_VALUE);
+        Assert.assertEquals(0, index.row(918510576L));
+        Assert.assertEquals(1, index.row(100000038L));
+        Assert.assertEquals(2, index.row(0L));
+        Assert.assertEquals(3, index.row(-1L));
+        Assert.assertEquals(4, index.row(Long.MIN_VALUE));
+        Assert.assertEquals(5, index.row(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void row_misses() {
+        final KeyIndex index = index(1L, 2L, 3L);
+        Assert.assertEquals(KeyIndex.NO_ROW, index.row(0L));
+        Assert.assertEquals(KeyIndex.NO_ROW, index.row(4L));
+        Assert.assertEquals(KeyIndex.NO_ROW, index.row(-1L));
+
+        final KeyIndex empty = index();
+        Assert.assertEquals(KeyIndex.NO_ROW, empty.row(0L));
+        Assert.assertEquals(KeyIndex.NO_ROW, empty.row(1L));
+    }
+
+    @Test
+    public void row_collisions() {
+        // Keys sharing their first slot in a table for 4 keys , so each probes past the ones inserted before it.
+        final KeyIndex probe = index(0L, 1L, 2L, 3L);
+        final int slot = probe.slot(0L);
+        final List<Long> colliding = new ArrayList<>();
+        for (long key = 0; colliding.size() < 6; key++) {
+            if (probe.slot(key) == slot) {
+                colliding.add(key);
+            }
+        }
+
+        final KeyIndex index = index(colliding.get(0), colliding.get(1), colliding.get(2), colliding.get(3));
+        Assert.assertEquals(capacity(probe), capacity(index));
+        for (int row = 0; row < 4; row++) {
+            Assert.assertEquals(row, index.row(colliding.get(row)));
+        }
+        Assert.assertEquals(KeyIndex.NO_ROW, index.row(colliding.get(4)));
+        Assert.assertEquals(KeyIndex.NO_ROW, index.row(colliding.get(5)));
+    }
+
+    @Test
+    public void of_rejects_duplicates_and_nulls() {
+        Assert.assertNull(index(1L, 2L, 1L));
+        Assert.assertNull(index(1L, null, 3L));
+    }
+
+    @Test
+    public void of_load_factor() {
+        for (int size = 0; size <= 1025; size++) {
+            final Object[] keys = new Object[size];
+            for (int row = 0; row < size; row++) {
+                keys[row] = (long) row * 7919;
+            }
+            final int capacity = capacity(index(keys));
+            Assert.assertEquals("power of two for " + size, 0, capacity & (capacity - 1));
+            Assert.assertTrue("at most half full for " + size, capacity >= 2 * size);
+            Assert.assertTrue("at least a quarter full for " + size, size < 2 || capacity <= 4 * size);
+        }
+    }
+
+    @Test
+    public void row_random_keys() {
+        final Random random = new Random(42);
+        final Object[] keys = new Object[100_000];
+        for (int row = 0; row < keys.length; row++) {
+            keys[row] = random.nextLong();
+        }
+
+        final KeyIndex index = index(keys);
+        Assert.assertNotNull(index);
+        for (int row = 0; row < keys.length; row++) {
+            Assert.assertEquals(row, index.row((Long) keys[row]));
+        }
+        for (int miss = 0; miss < 1000; miss++) {
+            final long key = random.nextLong();
+            final int row = index.row(key);
+            Assert.assertTrue(row == KeyIndex.NO_ROW || keys[row].equals(key));
+        }
+    }
+}
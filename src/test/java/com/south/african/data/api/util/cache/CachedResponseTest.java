@@ -0,0 +1,57 @@
+package com.south.african.data.api.util.cache;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class CachedResponseTest {
+
+    private static byte[] body(final String requestId, final int records) {
+        final StringBuilder body = new StringBuilder("{\"requestId\":\"").append(requestId).append("\",\"data\":[");
+        for (int i = 0; i < records; i++) {
+            body.append(i == 0 ? "" : ",").append("{\"schoolId\":").append(100_000_000 + i)
+                    .append(",\"province\":\"Gauteng\"}");
+        }
+        return body.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] gunzip(final byte[] gzip) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void of_whenBodyIsForAnotherRequest() {
+        Assert.assertNull(CachedResponse.of(body("a", 1), "b"));
+        Assert.assertNull(CachedResponse.of(new byte[0], "a"));
+    }
+
+    @Test
+    public void body_replacesRequestId() {
+        final CachedResponse cached = CachedResponse.of(body("first-request", 3), "first-request");
+        Assert.assertArrayEquals(body("second", 3), cached.body("second"));
+    }
+
+    @Test
+    public void gzipBody_decompressesToBodyOfRequest() throws IOException {
+        for (final int records : new int[]{0, 1, 1_000, 20_000}) {
+            final CachedResponse cached = CachedResponse.of(body("first-request", records), "first-request");
+            final String requestId = "0a7c8d2e-61f4-11ee-8c99-0242ac120002";
+            final byte[] gzip = cached.gzipBody(requestId);
+            Assert.assertArrayEquals(body(requestId, records), gunzip(gzip));
+            Assert.assertTrue(records < 1_000 || gzip.length < body(requestId, records).length / 4);
+        }
+    }
+}
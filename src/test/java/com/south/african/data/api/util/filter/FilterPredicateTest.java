@@ -0,0 +1,104 @@
+package com.south.african.data.api.util.filter;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.repository.util.QueryBuilder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class FilterPredicateTest {
+
+    @RequiredArgsConstructor
+    @Getter
+    @SuppressWarnings("checkstyle:javadocvariable")
+    private static final class Student {
+
+        @Filter
+        private final String name;
+        @Filter
+        private final Integer age;
+        @Filter
+        private final Long studentNumber;
+        private final String id;
+        @Filter(name = "payment")
+        private final String paymentMethod;
+
+    }
+
+    @Test
+    public void compile_whenFiltersNull() {
+        Assert.assertTrue(FilterPredicate.compile(Student.class, null).isEmpty());
+    }
+
+    @Test
+    public void compile_ignoresKeys_thatAreNotFilters() {
+        Assert.assertTrue(FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "id", ImmutableSet.of("1"))).isEmpty());
+    }
+
+    @Test
+    public void compile_usesFieldName_forNamedFilters() {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "payment", ImmutableSet.of("SELF", "BURSARY")));
+
+        Assert.assertEquals(1, predicates.size());
+        Assert.assertEquals("paymentMethod", predicates.get(0).getAttribute());
+        Assert.assertEquals(ImmutableList.of("SELF", "BURSARY"), predicates.get(0).getValues());
+        Assert.assertFalse(predicates.get(0).isMatchesNull());
+    }
+
+    @Test
+    public void compile_convertsValues_toFieldType() {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "age", ImmutableSet.of("12", "012", "twelve", "null"),
+                "studentNumber", ImmutableSet.of("9000000000")));
+
+        Assert.assertEquals(2, predicates.size());
+        Assert.assertEquals(ImmutableList.of(12), predicates.get(0).getValues());
+        Assert.assertTrue(predicates.get(0).isMatchesNull());
+        Assert.assertEquals(ImmutableList.of(9000000000L), predicates.get(1).getValues());
+    }
+
+    @Test
+    public void compile_whenNoValueCanMatch() {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "age", ImmutableSet.of("twelve")));
+
+        Assert.assertTrue(predicates.get(0).isUnsatisfiable());
+    }
+
+    @Test
+    public void compile_keepsNullString_forStringFields() {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "name", ImmutableSet.of("null")));
+
+        Assert.assertEquals(ImmutableList.of("null"), predicates.get(0).getValues());
+        Assert.assertTrue(predicates.get(0).isMatchesNull());
+    }
+
+    @Test
+    public void filterConditions() {
+
+        final List<FilterPredicate> predicates = FilterPredicate.compile(Student.class, ImmutableMap.of(
+                "name", ImmutableSet.of("bob"),
+                "age", ImmutableSet.of("null")));
+
+        Assert.assertEquals("SELECT e FROM Student e WHERE (e.name IN (:filter0)) AND (e.age IS NULL)",
+                QueryBuilder.getAllWithFilters("Student", predicates));
+    }
+}
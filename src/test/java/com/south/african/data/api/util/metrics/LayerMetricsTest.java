@@ -0,0 +1,48 @@
+package com.south.african.data.api.util.metrics;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.QueryException;
+import com.south.african.data.api.util.query.parameter.MaxResults;
+import com.south.african.data.api.util.query.parameter.NextToken;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class LayerMetricsTest {
+
+    private static final Map<String, ImmutableSet<String>> FILTERS =
+            ImmutableMap.of("province", ImmutableSet.of("Gauteng"));
+
+    private static Query query(
+            final Map<String, ImmutableSet<String>> filters,
+            final Map<String, String[]> parameters) throws QueryException {
+        return new Query(filters, new MaxResults(parameters), new NextToken(parameters));
+    }
+
+    @Test
+    public void shape_paths() {
+        Assert.assertEquals("by-id", LayerMetrics.shape("/schools/918510576".split("/"), null));
+        Assert.assertEquals("batch", LayerMetrics.shape("/schools/batch-get".split("/"), null));
+        Assert.assertEquals("export", LayerMetrics.shape("/hospitals/export".split("/"), null));
+        Assert.assertEquals(LayerMetrics.NONE, LayerMetrics.shape("/schools".split("/"), null));
+    }
+
+    @Test
+    public void shape_queries() throws QueryException {
+        final String[] segments = "/schools".split("/");
+        final Map<String, String[]> paginated = ImmutableMap.of(MaxResults.KEY, new String[]{"100"});
+        Assert.assertEquals("list", LayerMetrics.shape(segments, query(ImmutableMap.of(), ImmutableMap.of())));
+        Assert.assertEquals("list-filtered", LayerMetrics.shape(segments, query(FILTERS, ImmutableMap.of())));
+        Assert.assertEquals("page", LayerMetrics.shape(segments, query(ImmutableMap.of(), paginated)));
+        Assert.assertEquals("page-filtered", LayerMetrics.shape(segments, query(FILTERS, paginated)));
+    }
+}
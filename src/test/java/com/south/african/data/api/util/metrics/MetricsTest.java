@@ -0,0 +1,53 @@
+package com.south.african.data.api.util.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class MetricsTest {
+
+    @Test
+    public void toJson_empty() {
+        Assert.assertEquals("{\"count\":{},\"value\":{}}", new Metrics().toJson());
+    }
+
+    @Test
+    public void addCount_accumulates() {
+        final Metrics metrics = new Metrics();
+        metrics.addCount(Metrics.RECORDS, 10);
+        metrics.addCount("notModified", 1);
+        metrics.addCount(Metrics.RECORDS, 5);
+        Assert.assertEquals(15, metrics.countOf(Metrics.RECORDS));
+        Assert.assertEquals(1, metrics.countOf("notModified"));
+        Assert.assertEquals(0, metrics.countOf("throttled"));
+    }
+
+    @Test
+    public void addCount_growsPastInitialSlots() {
+        final Metrics metrics = new Metrics();
+        for (int i = 0; i < 10; i++) {
+            metrics.addCount("count" + i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals(i, metrics.countOf("count" + i));
+        }
+    }
+
+    @Test
+    public void toJson_allMetrics() {
+        final Metrics metrics = new Metrics();
+        metrics.addCount(Metrics.RECORDS, 3);
+        metrics.addCount("actualCost", 1);
+        metrics.addValue("pageMillis", 1.5);
+        metrics.addValue("pageMillis", 2);
+        metrics.setLatencyMillis(12);
+        Assert.assertEquals(
+                "{\"count\":{\"records\":3,\"actualCost\":1},\"value\":{\"pageMillis\":[1.5,2.0]},\"latencyMillis\":12}",
+                metrics.toJson());
+    }
+}
@@ -0,0 +1,94 @@
+package com.south.african.data.api.util.profiling;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.util.filter.Filter;
+import com.south.african.data.api.util.filter.FilterUtil;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class ProfilerTest {
+
+    private final Profiler profiler = new Profiler();
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(profiler, "maxDuration", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(profiler, "sampleInterval", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(profiler, "eventThreshold", Duration.ofMillis(1));
+    }
+
+    @After
+    public void close() {
+        profiler.close();
+    }
+
+    @Test
+    public void start_onlyOneRecording() throws Exception {
+        Assert.assertNull(profiler.status());
+        Assert.assertTrue(profiler.start(Duration.ofMinutes(5)));
+        Assert.assertFalse(profiler.start(Duration.ofSeconds(10)));
+        Assert.assertEquals("RUNNING", profiler.status().get("state"));
+        Assert.assertEquals("PT1M", profiler.status().get("duration"));
+
+        Assert.assertTrue(profiler.stop());
+        Assert.assertFalse(profiler.stop());
+        Assert.assertEquals("STOPPED", profiler.status().get("state"));
+    }
+
+    @Test
+    public void dump_recordsFilterEvents() throws Exception {
+        profiler.start(Duration.ofSeconds(30));
+        final ArrayList<Sample> samples = new ArrayList<>(List.of(new Sample("Gauteng"), new Sample("Limpopo")));
+        FilterUtil.applyFilters(ImmutableMap.of("province", ImmutableSet.of("Gauteng")), samples);
+        profiler.stop();
+
+        final Path file = profiler.dump();
+        try {
+            final List<RecordedEvent> events = new ArrayList<>();
+            for (final RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (FilterEvent.NAME.equals(event.getEventType().getName())) {
+                    events.add(event);
+                }
+            }
+            Assert.assertEquals(1, events.size());
+            Assert.assertEquals("province", events.get(0).getString("filters"));
+            Assert.assertEquals(2, events.get(0).getInt("rowsIn"));
+            Assert.assertEquals(1, events.get(0).getInt("rowsOut"));
+
+            for (final String line : Profiler.collapse(file, "cpu").split("\n")) {
+                Assert.assertTrue(line, line.isEmpty() || line.matches("\\S+ \\d+"));
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @RequiredArgsConstructor
+    @Getter
+    @SuppressWarnings("checkstyle:javadocvariable")
+    private static final class Sample {
+
+        @Filter
+        private final String province;
+    }
+}
@@ -3,6 +3,8 @@ package com.south.african.data.api.util.query;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.util.query.parameter.Fields;
 import com.south.african.data.api.util.query.parameter.MaxResults;
 import com.south.african.data.api.util.query.parameter.NextToken;
 import org.junit.Test;
@@ -246,4 +248,95 @@ public class QueryTest {
         assertEquals(QueryException.Type.UNKNOWN_PARAMETER, exception.getType());
 
     }
+
+    @Test
+    public void canonicalFilters_isIndependentOfOrder() {
+
+        final String canonical = Query.canonicalFilters(ImmutableMap.of(
+                "province", ImmutableSet.of("Gauteng", "Free State"),
+                "phase", ImmutableSet.of("Secondary School")));
+
+        assertEquals("phase=Secondary+School&province=Free+State,Gauteng", canonical);
+        assertEquals(canonical, Query.canonicalFilters(ImmutableMap.of(
+                "phase", ImmutableSet.of("Secondary School"),
+                "province", ImmutableSet.of("Gauteng", "Free State"))));
+    }
+
+    @Test
+    public void canonicalFilters_whenFiltersEmpty() {
+        assertEquals("", Query.canonicalFilters(ImmutableMap.of()));
+    }
+
+    @Test
+    public void canonicalForm_isIndependentOfFilterOrder() throws QueryException {
+
+        final Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("maxResults", new String[]{"5"});
+        final Query query = new Query(
+                ImmutableMap.of(
+                        "province", ImmutableSet.of("Gauteng", "Free State"),
+                        "phase", ImmutableSet.of("Secondary School")),
+                new MaxResults(parameters),
+                new NextToken(parameters));
+
+        assertEquals("phase=Secondary+School&province=Free+State,Gauteng|maxResults=5|nextToken=", query.canonicalForm());
+        assertEquals(query.canonicalForm(), new Query(
+                ImmutableMap.of(
+                        "phase", ImmutableSet.of("Secondary School"),
+                        "province", ImmutableSet.of("Free State", "Gauteng")),
+                new MaxResults(parameters),
+                new NextToken(parameters)).canonicalForm());
+    }
+
+    @Test
+    public void canonicalForm_includesSortedFields() throws QueryException {
+
+        final Map<String, String[]> parameters = new HashMap<>();
+        parameters.put("fields", new String[]{"province,name"});
+        final Query query = new Query(
+                ImmutableMap.of(),
+                new MaxResults(parameters),
+                new NextToken(parameters),
+                new Fields(parameters));
+
+        assertEquals("|maxResults=|nextToken=|fields=name,province", query.canonicalForm());
+        parameters.put("fields", new String[]{"name,province"});
+        assertEquals(query.canonicalForm(), new Query(
+                ImmutableMap.of(),
+                new MaxResults(parameters),
+                new NextToken(parameters),
+                new Fields(parameters)).canonicalForm());
+    }
+
+    @Test
+    public void validateParameters_fields() {
+
+        assertDoesNotThrow(() -> Query.validateParameters(
+                ImmutableMap.of("fields", new String[]{"name"}, "maxResults", new String[]{"100"})));
+    }
+
+    @Test
+    public void fields_whenBlankField() {
+
+        final QueryException exception = assertThrows(QueryException.class, () -> new Fields(
+                ImmutableMap.of("fields", new String[]{"name,,province"})));
+
+        assertEquals(QueryException.Type.INVALID_PARAMETER_VALUE, exception.getType());
+    }
+
+    @Test
+    public void fields_validate() throws QueryException {
+
+        final Fields fields = new Fields(ImmutableMap.of("fields", new String[]{" schoolId, name ,province"}));
+        assertEquals(ImmutableSet.of("schoolId", "name", "province"), fields.value());
+        assertDoesNotThrow(() -> fields.validate(School.class));
+        assertTrue(fields.includes("name"));
+        assertTrue(!fields.includes("status"));
+        assertTrue(Fields.all().includes("status"));
+
+        // The id is not serialized , so it is not a field.
+        final QueryException exception = assertThrows(QueryException.class, () -> new Fields(
+                ImmutableMap.of("fields", new String[]{"name,id"})).validate(School.class));
+        assertEquals(QueryException.Type.UNKNOWN_FIELD, exception.getType());
+    }
 }
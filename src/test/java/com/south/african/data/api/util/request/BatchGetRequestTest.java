@@ -0,0 +1,78 @@
+package com.south.african.data.api.util.request;
+
+import com.google.common.collect.ImmutableMap;
+import com.south.african.data.api.util.query.QueryException;
+import com.south.african.data.api.util.response.BatchGetResponse;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class BatchGetRequestTest {
+
+    private static BatchGetRequest batchGet(final List<String> ids) {
+        final BatchGetRequest batchGet = new BatchGetRequest();
+        batchGet.setIds(ids);
+        return batchGet;
+    }
+
+    @Test
+    public void distinctIds_keepsFirstRequestOrder() throws QueryException {
+        Assert.assertEquals(
+                Arrays.asList("3", "1", "2"),
+                batchGet(Arrays.asList("3", "1", " 3 ", null, "", "2", "1")).distinctIds());
+    }
+
+    @Test
+    public void distinctIds_whenNoIds() {
+        for (final List<String> ids : Arrays.asList(null, Collections.<String>emptyList(), Arrays.asList(" ", null))) {
+            try {
+                batchGet(ids).distinctIds();
+                Assert.fail("Expected QueryException for : " + ids);
+            } catch (final QueryException e) {
+                Assert.assertEquals(QueryException.Type.NO_RESOURCE_ID_VALUES, e.getType());
+            }
+        }
+    }
+
+    @Test
+    public void distinctIds_whenTooManyIds() throws QueryException {
+        final List<String> ids = new ArrayList<>();
+        for (int i = 0; i < BatchGetRequest.MAX_IDS; i++) {
+            ids.add(String.valueOf(i));
+        }
+        Assert.assertEquals(BatchGetRequest.MAX_IDS, batchGet(ids).distinctIds().size());
+
+        ids.add("0");
+        Assert.assertEquals(BatchGetRequest.MAX_IDS, batchGet(ids).distinctIds().size());
+
+        ids.add(String.valueOf(BatchGetRequest.MAX_IDS));
+        try {
+            batchGet(ids).distinctIds();
+            Assert.fail("Expected QueryException");
+        } catch (final QueryException e) {
+            Assert.assertEquals(QueryException.Type.TOO_MANY_RESOURCE_IDS, e.getType());
+        }
+    }
+
+    @Test
+    public void batchGetResponse_ordersDataAndNotFoundByRequest() {
+        final BatchGetResponse<String> response = BatchGetResponse.of(
+                "request",
+                Arrays.asList("3", "x", "1", "2"),
+                ImmutableMap.of("1", "one", "3", "three"));
+
+        Assert.assertEquals("request", response.getRequestId());
+        Assert.assertEquals(Arrays.asList("three", "one"), response.getData());
+        Assert.assertEquals(Arrays.asList("x", "2"), response.getNotFound());
+    }
+}
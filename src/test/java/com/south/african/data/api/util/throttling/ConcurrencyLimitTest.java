@@ -0,0 +1,93 @@
+package com.south.african.data.api.util.throttling;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class ConcurrencyLimitTest {
+
+    private static ConcurrencyLimit limit(final int initialLimit) {
+        return new ConcurrencyLimit(initialLimit, 2, 10, 100, 0.5);
+    }
+
+    @Test
+    public void tryAcquire_rejectsOverTheLimit() {
+        final ConcurrencyLimit limit = limit(2);
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertTrue(limit.tryAcquire());
+        Assert.assertFalse(limit.tryAcquire());
+        Assert.assertEquals(2, limit.getInFlight());
+        Assert.assertEquals(1, limit.getRejected());
+
+        limit.releaseWithoutSample();
+        Assert.assertTrue(limit.tryAcquire());
+    }
+
+    @Test
+    public void release_growsWhileFastAndUsed() {
+        final ConcurrencyLimit limit = limit(2);
+        limit.tryAcquire();
+        limit.tryAcquire();
+        limit.release(10);
+        Assert.assertEquals(3, limit.getLimit());
+        Assert.assertEquals(1, limit.getInFlight());
+    }
+
+    @Test
+    public void release_doesNotGrowWhenUnused() {
+        final ConcurrencyLimit limit = limit(8);
+        limit.tryAcquire();
+        limit.release(10);
+        Assert.assertEquals(8, limit.getLimit());
+    }
+
+    @Test
+    public void release_shrinksWhenSlow() {
+        final ConcurrencyLimit limit = limit(8);
+        limit.tryAcquire();
+        limit.release(500);
+        Assert.assertEquals(4, limit.getLimit());
+        limit.tryAcquire();
+        limit.release(500);
+        limit.tryAcquire();
+        limit.release(500);
+        Assert.assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void release_shrinksOncePerBurstOfSlowRequests() {
+        final ConcurrencyLimit limit = limit(10);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+        }
+        for (int i = 0; i < 10; i++) {
+            limit.release(500);
+        }
+        Assert.assertEquals(5, limit.getLimit());
+
+        // Requests admitted after the decrease shrink it again.
+        limit.tryAcquire();
+        limit.release(500);
+        Assert.assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void release_staysWithinBounds() {
+        final ConcurrencyLimit limit = limit(10);
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+        }
+        limit.release(10);
+        Assert.assertEquals(10, limit.getLimit());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_invalidBackoff() {
+        new ConcurrencyLimit(5, 1, 10, 100, 1);
+    }
+}
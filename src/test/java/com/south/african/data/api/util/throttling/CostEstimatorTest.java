@@ -0,0 +1,53 @@
+package com.south.african.data.api.util.throttling;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.south.african.data.api.entity.School;
+import com.south.african.data.api.util.query.Query;
+import com.south.african.data.api.util.query.QueryException;
+import com.south.african.data.api.util.query.parameter.MaxResults;
+import com.south.african.data.api.util.query.parameter.NextToken;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Map;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class CostEstimatorTest {
+
+    private static final long SCHOOLS = 25_000;
+
+    private static Query query(
+            final Map<String, ImmutableSet<String>> filters,
+            final Map<String, String[]> parameters) throws QueryException {
+        return new Query(filters, new MaxResults(parameters), new NextToken(parameters));
+    }
+
+    @Test
+    public void estimateRecords_unfiltered() throws QueryException {
+        Assert.assertEquals(SCHOOLS, CostEstimator.estimateRecords(School.class, SCHOOLS, query(
+                ImmutableMap.of(), ImmutableMap.of())));
+        Assert.assertEquals(100, CostEstimator.estimateRecords(School.class, SCHOOLS, query(
+                ImmutableMap.of(), ImmutableMap.of(MaxResults.KEY, new String[]{"100"}))));
+    }
+
+    @Test
+    public void estimateRecords_filtered() throws QueryException {
+        // Two provinces and a phase , 0.2 * 0.1 of the schools.
+        Assert.assertEquals(500, CostEstimator.estimateRecords(School.class, SCHOOLS, query(
+                ImmutableMap.of(
+                        "province", ImmutableSet.of("Gauteng", "Limpopo"),
+                        "phase", ImmutableSet.of("Secondary School")),
+                ImmutableMap.of())));
+
+        // Filters on key attributes match at most a school per value.
+        Assert.assertEquals(2, CostEstimator.estimateRecords(School.class, SCHOOLS, query(
+                ImmutableMap.of("schoolId", ImmutableSet.of("1", "2")),
+                ImmutableMap.of())));
+    }
+}
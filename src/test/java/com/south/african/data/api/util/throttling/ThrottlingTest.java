@@ -0,0 +1,93 @@
+package com.south.african.data.api.util.throttling;
+
+import io.github.bucket4j.ConsumptionProbe;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+@SuppressWarnings(
+        { "checkstyle:hideutilityclassconstructor",
+                "checkstyle:filetabcharacter",
+                "checkstyle:missingjavadoctype",
+                "checkstyle:missingJavadocmethod",
+                "checkstyle:methodname"})
+public class ThrottlingTest {
+
+    private static Throttling throttling() {
+        final ThrottlingProperties properties = new ThrottlingProperties();
+        final ThrottlingProperties.Tier defaults = new ThrottlingProperties.Tier();
+        defaults.setLimits(Arrays.asList("3/1m", "10/1h"));
+        final ThrottlingProperties.Tier export = new ThrottlingProperties.Tier();
+        export.setPaths(Arrays.asList("/schools/export", "/hospitals/export"));
+        export.setLimits(Collections.singletonList("1/1m"));
+        properties.getTiers().put(ThrottlingProperties.DEFAULT_TIER, defaults);
+        properties.getTiers().put("export", export);
+        properties.setClientKeys(Collections.singletonList("partner"));
+        return new Throttling(properties);
+    }
+
+    @Test
+    public void tier_matchesPaths() {
+        final Throttling throttling = throttling();
+        Assert.assertEquals("export", throttling.tier("/schools/export").name());
+        Assert.assertEquals(ThrottlingProperties.DEFAULT_TIER, throttling.tier("/schools").name());
+        Assert.assertEquals(ThrottlingProperties.DEFAULT_TIER, throttling.tier("/schools/100000038").name());
+        Assert.assertEquals(3, throttling.tier("/schools").capacity());
+    }
+
+    @Test
+    public void bucket_limitsEachClient() {
+        final Throttling throttling = throttling();
+        final Throttling.Tier tier = throttling.tier("/schools");
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(throttling.bucket(tier, "a").tryConsumeAndReturnRemaining(1).isConsumed());
+        }
+
+        final ConsumptionProbe rejected = throttling.bucket(tier, "a").tryConsumeAndReturnRemaining(1);
+        Assert.assertFalse(rejected.isConsumed());
+        Assert.assertEquals(0, rejected.getRemainingTokens());
+        Assert.assertTrue(rejected.getNanosToWaitForRefill() > 0);
+
+        // Other clients and other tiers have their own buckets.
+        Assert.assertEquals(2, throttling.bucket(tier, "b").tryConsumeAndReturnRemaining(1).getRemainingTokens());
+        Assert.assertTrue(throttling.bucket(throttling.tier("/hospitals/export"), "a").tryConsume(1));
+        Assert.assertEquals(3, throttling.size());
+    }
+
+    @Test
+    public void bucket_isKeptPerClient() {
+        final Throttling throttling = throttling();
+        final Throttling.Tier tier = throttling.tier("/schools");
+        Assert.assertSame(throttling.bucket(tier, "a"), throttling.bucket(tier, "a"));
+        Assert.assertNotSame(throttling.bucket(tier, "a"), throttling.bucket(tier, "b"));
+        Assert.assertNotSame(throttling.bucket(tier, "a"), throttling.bucket(throttling.tier("/schools/export"), "a"));
+    }
+
+    @Test
+    public void client_ignoresUnknownKeys() {
+        final Throttling throttling = throttling();
+        final Throttling.Tier tier = throttling.tier("/schools");
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(throttling.bucket(tier, throttling.client("key-" + i, "10.0.0.1")).tryConsume(1));
+        }
+
+        // Rotating keys does not get a fresh bucket , while configured keys have their own.
+        Assert.assertFalse(throttling.bucket(tier, throttling.client("key-3", "10.0.0.1")).tryConsume(1));
+        Assert.assertFalse(throttling.bucket(tier, throttling.client(null, "10.0.0.1")).tryConsume(1));
+        Assert.assertTrue(throttling.bucket(tier, throttling.client("partner", "10.0.0.1")).tryConsume(1));
+        Assert.assertEquals(2, throttling.size());
+    }
+
+    @Test
+    public void tier_withoutDefaultLimits() {
+        final Throttling throttling = new Throttling(new ThrottlingProperties());
+        Assert.assertEquals(20, throttling.tier("/schools").capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bandwidth_whenInvalid() {
+        Throttling.bandwidth("100");
+    }
+}
@@ -0,0 +1,31 @@
+-- Seeds the datastore of SnapshotEquivalenceTest , schools.csv is not checked in so a handful of schools are inserted ,
+-- with null specializations and postal codes.
+CREATE INDEX SCHOOL_ID ON SCHOOL(SCHOOL_ID);
+
+INSERT INTO SCHOOL(SCHOOL_ID, NAME, STATUS, SECTOR, TYPE, PHASE, SPECIALIZATION, EXAM_NO, PROVINCE,
+    DISTRICT_MUNICIPALITY, LOCAL_MUNICIPALITY, POSTAL_CODE) VALUES
+    (700110101, 'Alpha Primary', 'OPEN', 'PUBLIC', 'ORDINARY', 'PRIMARY', NULL, '1001', 'Gauteng',
+        'City Of Johannesburg Metropolitan Municipality', 'Johannesburg', 2001),
+    (700110102, 'Beta Secondary', 'OPEN', 'PUBLIC', 'ORDINARY', 'SECONDARY', 'MATHS', '1002', 'Gauteng',
+        'City Of Tshwane Metropolitan Municipality', 'Tshwane', NULL),
+    (700110103, 'Gamma Combined', 'CLOSED', 'INDEPENDENT', 'ORDINARY', 'COMBINED', NULL, NULL, 'Limpopo',
+        'Capricorn District Municipality', 'Polokwane', 700),
+    (500210104, 'Delta Primary', 'OPEN', 'PUBLIC', 'ORDINARY', 'PRIMARY', 'ARTS', '1004', 'KwaZuluNatal',
+        'Ethekwini Metropolitan Municipality', 'Durban', 4001),
+    (500210105, 'Epsilon Special', 'OPEN', 'PUBLIC', 'LSEN', 'SPECIAL', 'AUTISM', '1005', 'KwaZuluNatal',
+        'Ethekwini Metropolitan Municipality', 'Durban', NULL),
+    (100310106, 'Zeta Secondary', 'OPEN', 'INDEPENDENT', 'ORDINARY', 'SECONDARY', NULL, '1006', 'Western Cape',
+        'City Of Cape Town Metropolitan Municipality', 'Cape Town', 8001),
+    (100310107, 'Eta Primary', 'OPEN', 'PUBLIC', 'ORDINARY', 'PRIMARY', NULL, '1007', 'Western Cape',
+        'City Of Cape Town Metropolitan Municipality', 'Cape Town', NULL),
+    (200410108, 'Theta Combined', 'OPEN', 'PUBLIC', 'ORDINARY', 'COMBINED', 'MATHS', '1008', 'Eastern Cape',
+        'Amathole District Municipality', 'Fort Beaufort', 5720),
+    (200410109, 'Iota Primary', 'CLOSED', 'PUBLIC', 'ORDINARY', 'PRIMARY', NULL, NULL, 'Eastern Cape',
+        'Sarah Baartman District Municipality', 'Makhanda', 6139),
+    (300510110, 'Kappa Secondary', 'OPEN', 'PUBLIC', 'ORDINARY', 'SECONDARY', 'ARTS', '1010', 'Free State',
+        'Mangaung Metropolitan Municipality', 'Bloemfontein', 9301);
+
+CREATE INDEX HOSPITAL_ID ON HOSPITAL(HOSPITAL_ID);
+
+INSERT INTO HOSPITAL(NAME, CATEGORY, PROVINCE, DISTRICT_MUNICIPALITY)
+    (SELECT * FROM CSVREAD('classpath:hospitals.csv'));